@@ -0,0 +1,14 @@
+package com.github.jparkie.promise;
+
+/**
+ * A predicate to test a value, such as the condition of a loop.
+ * @param <T> The type of value to test.
+ */
+public interface Predicate<T> {
+    /**
+     * Tests the value.
+     * @param value The value to test.
+     * @return True if the value satisfies the predicate.
+     */
+    boolean test(T value);
+}
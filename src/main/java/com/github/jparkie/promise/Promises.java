@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * A companion class for {@link Promise}.
@@ -75,6 +76,35 @@ public final class Promises {
         return promise;
     }
 
+    /**
+     * Returns a new promise of the state after a loop of asynchronous steps.
+     *
+     * While the condition holds for the current state, the step is started from the current state, and its
+     * promise provides the next state. The steps which complete synchronously are iterated in place rather than
+     * recursively, so the loop runs in constant stack and retains only its current step, regardless of the number
+     * of iterations.
+     *
+     * If a step fails, or the condition or the step throws,
+     *  the new promise fails with its failure.
+     * If the step returns null,
+     *  the new promise fails with a {@link NullPointerException}.
+     * If a step cancels,
+     *  the new promise cancels.
+     * If the new promise cancels,
+     *  the current step cancels, and no further step starts.
+     * @param scheduler The scheduler to continue the loop after an asynchronous step.
+     * @param initialState The state before the first step.
+     * @param condition The condition to start another step.
+     * @param step The step from the current state to the next state.
+     * @param <S> The type of the state.
+     * @return The new promise of the first state for which the condition does not hold.
+     */
+    public static <S> Promise<S> loop(Scheduler scheduler, S initialState, Predicate<S> condition, Step<S> step) {
+        final LoopContext<S> loopContext = new LoopContext<S>(scheduler, condition, step);
+        loopContext.start(initialState);
+        return loopContext.loopPromise;
+    }
+
     private static final class DefaultPromise<T> implements Promise<T> {
         private final Object promiseLock = new Object();
         private final CountDownLatch awaitLatch = new CountDownLatch(1);
@@ -282,4 +312,117 @@ public final class Promises {
             }
         }
     }
+
+    private static final class LoopContext<S> implements Action<S> {
+        private final AtomicInteger drainCounter = new AtomicInteger(0);
+        private final Promise<S> loopPromise = new DefaultPromise<S>();
+        private final Scheduler scheduler;
+        private final Predicate<S> condition;
+        private final Step<S> step;
+
+        private volatile S state;
+        private volatile Promise<S> stepPromise;
+
+        private LoopContext(Scheduler scheduler, Predicate<S> condition, Step<S> step) {
+            this.scheduler = scheduler;
+            this.condition = condition;
+            this.step = step;
+        }
+
+        private void start(S initialState) {
+            loopPromise.then(scheduler, new Action<S>() {
+                @Override
+                public void call(Promise<S> promise) {
+                    // Do Nothing.
+                }
+
+                @Override
+                public void cancel() {
+                    final Promise<S> currentStepPromise = stepPromise;
+                    if (currentStepPromise != null && !currentStepPromise.isCancelled()) {
+                        currentStepPromise.cancel();
+                    }
+                }
+            });
+
+            state = initialState;
+            drain();
+        }
+
+        @Override
+        public void call(Promise<S> promise) {
+            if (!promise.isSuccessful()) {
+                loopPromise.setError(promise.getError());
+                return;
+            }
+
+            state = promise.get();
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            if (!loopPromise.isCancelled()) {
+                loopPromise.cancel();
+            }
+        }
+
+        private void drain() {
+            if (drainCounter.getAndIncrement() != 0) {
+                return;
+            }
+
+            int missedCounter = 1;
+            do {
+                iterate();
+                missedCounter = drainCounter.addAndGet(-missedCounter);
+            } while (missedCounter != 0);
+        }
+
+        private void iterate() {
+            S currentState = state;
+            while (!loopPromise.isCancelled()) {
+                final boolean continueFlag;
+                try {
+                    continueFlag = condition.test(currentState);
+                } catch (RuntimeException e) {
+                    loopPromise.setError(e);
+                    return;
+                }
+
+                if (!continueFlag) {
+                    stepPromise = null;
+                    loopPromise.set(currentState);
+                    return;
+                }
+
+                final Promise<S> currentStepPromise;
+                try {
+                    currentStepPromise = step.call(currentState);
+                } catch (RuntimeException e) {
+                    loopPromise.setError(e);
+                    return;
+                }
+                if (currentStepPromise == null) {
+                    loopPromise.setError(new NullPointerException("step must not return null"));
+                    return;
+                }
+
+                if (!currentStepPromise.isDone() || currentStepPromise.isCancelled()) {
+                    stepPromise = currentStepPromise;
+                    currentStepPromise.then(scheduler, this);
+                    if (loopPromise.isCancelled() && !currentStepPromise.isCancelled()) {
+                        currentStepPromise.cancel();
+                    }
+                    return;
+                }
+                if (!currentStepPromise.isSuccessful()) {
+                    loopPromise.setError(currentStepPromise.getError());
+                    return;
+                }
+
+                currentState = currentStepPromise.get();
+            }
+        }
+    }
 }
@@ -0,0 +1,14 @@
+package com.github.jparkie.promise;
+
+/**
+ * An asynchronous step from a state to a promise of the next state, such as the body of a loop.
+ * @param <S> The type of the state.
+ */
+public interface Step<S> {
+    /**
+     * Starts the step from the state.
+     * @param state The current state.
+     * @return The promise of the next state.
+     */
+    Promise<S> call(S state);
+}
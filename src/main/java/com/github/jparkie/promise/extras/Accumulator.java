@@ -0,0 +1,16 @@
+package com.github.jparkie.promise.extras;
+
+/**
+ * An accumulator to fold a value into an accumulated result.
+ * @param <R> The type of the accumulated result.
+ * @param <T> The type of value to fold.
+ */
+public interface Accumulator<R, T> {
+    /**
+     * Folds a value into the accumulated result.
+     * @param accumulated The result accumulated so far.
+     * @param value The value to fold.
+     * @return The new accumulated result.
+     */
+    R accumulate(R accumulated, T value);
+}
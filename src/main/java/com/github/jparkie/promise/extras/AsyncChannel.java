@@ -0,0 +1,355 @@
+package com.github.jparkie.promise.extras;
+
+import com.github.jparkie.promise.Action;
+import com.github.jparkie.promise.Promise;
+import com.github.jparkie.promise.Promises;
+import com.github.jparkie.promise.Scheduler;
+import com.github.jparkie.promise.Schedulers;
+import com.github.jparkie.promise.failures.Failures;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded channel between producers and consumers whose puts and takes return promises instead of blocking threads.
+ *
+ * The items are held by a lock-free bounded ring buffer. While the buffer has space, a put completes immediately;
+ * otherwise, the put is queued until a take frees space. While the buffer has items, a take completes immediately;
+ * otherwise, the take is queued until a put provides an item. Queued puts and takes are served in FIFO order.
+ *
+ * Upon the close of the channel,
+ *  further and queued puts fail with a {@link com.github.jparkie.promise.failures.ChannelClosedException},
+ *  and takes drain the remaining items before failing with a {@link com.github.jparkie.promise.failures.EndOfStreamException}.
+ * If a queued put or take cancels,
+ *  it leaves the queue. A put cancelled concurrently with its acceptance may still be delivered.
+ *  An item handed concurrently to a cancelled take returns to the channel for the next take unless the actions
+ *  of the promise were already called with it; thus, each item is delivered exactly once.
+ * @param <T> The type of the items.
+ */
+public final class AsyncChannel<T> {
+    private static final Scheduler INLINE_SCHEDULER = Schedulers.newSimpleScheduler();
+    private static final int WAITING = 0;
+    private static final int GRANTED = 1;
+    private static final int CANCELLED = 2;
+
+    private final ConcurrentLinkedQueue<PutWaiter<T>> putWaiters = new ConcurrentLinkedQueue<PutWaiter<T>>();
+    private final ConcurrentLinkedQueue<TakeWaiter> takeWaiters = new ConcurrentLinkedQueue<TakeWaiter>();
+    private final ConcurrentLinkedQueue<T> carriedItems = new ConcurrentLinkedQueue<T>();
+    private final AtomicInteger drainCounter = new AtomicInteger(0);
+    private final AtomicLong headCounter = new AtomicLong(0);
+    private final AtomicLong tailCounter = new AtomicLong(0);
+    private final AtomicLongArray sequences;
+    private final AtomicReferenceArray<T> items;
+    private final int capacity;
+
+    private volatile boolean closeFlag;
+
+    /**
+     * Constructor for an AsyncChannel.
+     *
+     * @param capacity the maximum number of items buffered by the channel
+     */
+    public AsyncChannel(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+
+        this.sequences = new AtomicLongArray(capacity);
+        for (int index = 0; index < capacity; index++) {
+            sequences.set(index, 2L * index);
+        }
+        this.items = new AtomicReferenceArray<T>(capacity);
+        this.capacity = capacity;
+    }
+
+    /**
+     * Buffers the item immediately if the channel has space, is open, and has no queued put.
+     * @param item The item to buffer, which must not be null.
+     * @return True if the item was buffered.
+     */
+    public boolean offer(T item) {
+        if (item == null) {
+            throw new NullPointerException();
+        }
+        if (closeFlag || !putWaiters.isEmpty() || !ringOffer(item)) {
+            return false;
+        }
+
+        drain();
+        return true;
+    }
+
+    /**
+     * Returns a promise completed once the item is buffered.
+     * @param item The item to buffer, which must not be null.
+     * @return The promise of the acceptance of the item.
+     */
+    public Promise<Void> put(T item) {
+        if (item == null) {
+            throw new NullPointerException();
+        }
+        if (closeFlag) {
+            return Promises.error(Failures.channelClosed());
+        }
+        if (offer(item)) {
+            return Promises.value(null);
+        }
+
+        final PutWaiter<T> putWaiter = new PutWaiter<T>(item);
+        putWaiter.promise.then(INLINE_SCHEDULER, new Action<Void>() {
+            @Override
+            public void call(Promise<Void> promise) {
+                // Do Nothing.
+            }
+
+            @Override
+            public void cancel() {
+                putWaiters.remove(putWaiter);
+            }
+        });
+        putWaiters.offer(putWaiter);
+        drain();
+
+        return putWaiter.promise;
+    }
+
+    /**
+     * Returns the next item immediately if the channel has one.
+     * @return The next item, or null if the channel has none.
+     */
+    public T poll() {
+        T item = carriedItems.poll();
+        if (item == null) {
+            item = ringPoll();
+        }
+        if (item != null) {
+            drain();
+        }
+
+        return item;
+    }
+
+    /**
+     * Returns a promise of the next item, completed once the channel has one.
+     * @return The promise of the next item.
+     */
+    public Promise<T> take() {
+        if (takeWaiters.isEmpty()) {
+            final T item = poll();
+            if (item != null) {
+                return Promises.value(item);
+            }
+        }
+
+        final TakeWaiter takeWaiter = new TakeWaiter();
+        takeWaiter.takePromise.then(INLINE_SCHEDULER, takeWaiter);
+        takeWaiters.offer(takeWaiter);
+        drain();
+
+        return takeWaiter.takePromise;
+    }
+
+    /**
+     * Moves at most maxItems items of the channel into the collection without waiting.
+     *
+     * The freed space is handed to the queued puts once for the whole batch.
+     * @param collection The collection to add the items to.
+     * @param maxItems The maximum number of items to move.
+     * @return The number of items moved.
+     */
+    public int drainTo(Collection<? super T> collection, int maxItems) {
+        if (maxItems < 1) {
+            return 0;
+        }
+
+        int itemCount = 0;
+        T item = carriedItems.poll();
+        while (item != null || (item = ringPoll()) != null) {
+            collection.add(item);
+            item = null;
+            if (++itemCount == maxItems) {
+                break;
+            }
+        }
+        if (itemCount > 0) {
+            drain();
+        }
+
+        return itemCount;
+    }
+
+    /**
+     * Closes the channel. This operation is idempotent.
+     */
+    public void close() {
+        closeFlag = true;
+        drain();
+    }
+
+    /**
+     * Returns whether the channel is closed.
+     * @return True if the channel is closed.
+     */
+    public boolean isClosed() {
+        return closeFlag;
+    }
+
+    /**
+     * Returns the approximate number of items buffered by the channel.
+     * @return The number of buffered items.
+     */
+    public int size() {
+        final long size = tailCounter.get() - headCounter.get() + carriedItems.size();
+        return (int) Math.max(0, Math.min(size, capacity));
+    }
+
+    /**
+     * Returns the maximum number of items buffered by the channel.
+     * @return The capacity of the channel.
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    private void drain() {
+        if (drainCounter.getAndIncrement() != 0) {
+            return;
+        }
+
+        int missedCounter = 1;
+        do {
+            drainPuts();
+            drainTakes();
+            missedCounter = drainCounter.addAndGet(-missedCounter);
+        } while (missedCounter != 0);
+    }
+
+    private void drainPuts() {
+        PutWaiter<T> putWaiter;
+        while ((putWaiter = putWaiters.peek()) != null) {
+            if (putWaiter.promise.isCancelled()) {
+                putWaiters.remove(putWaiter);
+                continue;
+            }
+            if (closeFlag) {
+                putWaiters.poll();
+                putWaiter.promise.setError(Failures.channelClosed());
+                continue;
+            }
+            if (!ringOffer(putWaiter.item)) {
+                return;
+            }
+
+            putWaiters.poll();
+            putWaiter.promise.set(null);
+        }
+    }
+
+    private void drainTakes() {
+        TakeWaiter takeWaiter;
+        while ((takeWaiter = takeWaiters.peek()) != null) {
+            if (takeWaiter.stateCounter.get() == CANCELLED) {
+                takeWaiters.remove(takeWaiter);
+                continue;
+            }
+
+            T item = carriedItems.poll();
+            if (item == null) {
+                item = ringPoll();
+            }
+            if (item == null) {
+                if (closeFlag && putWaiters.isEmpty()) {
+                    takeWaiters.poll();
+                    if (takeWaiter.stateCounter.compareAndSet(WAITING, GRANTED)) {
+                        takeWaiter.takePromise.setError(Failures.endOfStream());
+                    }
+                    continue;
+                }
+                return;
+            }
+
+            takeWaiters.poll();
+            takeWaiter.item = item;
+            if (!takeWaiter.stateCounter.compareAndSet(WAITING, GRANTED)) {
+                carriedItems.offer(item);
+                continue;
+            }
+
+            takeWaiter.takePromise.set(item);
+            drainPuts();
+        }
+    }
+
+    // Each slot alternates between an even sequence, free for the write of position sequence / 2,
+    // and an odd sequence, filled for the read of position sequence / 2; thus, a capacity of one is unambiguous.
+    private boolean ringOffer(T item) {
+        while (true) {
+            final long tail = tailCounter.get();
+            final int index = (int) (tail % capacity);
+            final long difference = sequences.get(index) - 2L * tail;
+            if (difference == 0) {
+                if (tailCounter.compareAndSet(tail, tail + 1)) {
+                    items.set(index, item);
+                    sequences.set(index, 2L * tail + 1);
+                    return true;
+                }
+            } else if (difference < 0) {
+                return false;
+            }
+        }
+    }
+
+    private T ringPoll() {
+        while (true) {
+            final long head = headCounter.get();
+            final int index = (int) (head % capacity);
+            final long difference = sequences.get(index) - (2L * head + 1);
+            if (difference == 0) {
+                if (headCounter.compareAndSet(head, head + 1)) {
+                    final T item = items.get(index);
+                    items.set(index, null);
+                    sequences.set(index, 2L * (head + capacity));
+                    return item;
+                }
+            } else if (difference < 0) {
+                return null;
+            }
+        }
+    }
+
+    // The waiter is an action of its own promise; as the promise either calls or cancels its actions, never both,
+    // a cancel() which follows the grant means that the item never reached the taker.
+    private final class TakeWaiter implements Action<T> {
+        private final AtomicInteger stateCounter = new AtomicInteger(WAITING);
+        private final Promise<T> takePromise = Promises.promise();
+
+        private volatile T item;
+
+        @Override
+        public void call(Promise<T> promise) {
+            // Do Nothing.
+        }
+
+        @Override
+        public void cancel() {
+            takeWaiters.remove(this);
+            if (!stateCounter.compareAndSet(WAITING, CANCELLED) && item != null) {
+                carriedItems.offer(item);
+                drain();
+            }
+        }
+    }
+
+    private static final class PutWaiter<T> {
+        private final Promise<Void> promise = Promises.promise();
+        private final T item;
+
+        private PutWaiter(T item) {
+            this.item = item;
+        }
+    }
+}
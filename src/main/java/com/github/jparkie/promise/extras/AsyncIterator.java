@@ -0,0 +1,23 @@
+package com.github.jparkie.promise.extras;
+
+import com.github.jparkie.promise.Promise;
+
+/**
+ * A pull-based iterator whose elements are available now, or in the future.
+ *
+ * Each call of next() signals the demand for one element. The end of the iteration is signalled by
+ * a promise failed with a {@link com.github.jparkie.promise.failures.EndOfStreamException}.
+ * @param <T> The type of the elements.
+ */
+public interface AsyncIterator<T> {
+    /**
+     * Returns a promise of the next element.
+     * @return The promise of the next element.
+     */
+    Promise<T> next();
+
+    /**
+     * Cancels the iteration. The pending promises of next() are cancelled. This operation is idempotent.
+     */
+    void cancel();
+}
@@ -0,0 +1,49 @@
+package com.github.jparkie.promise.extras;
+
+import com.github.jparkie.promise.Promise;
+
+/**
+ * A mutual exclusion lock whose acquisitions return promises instead of blocking threads.
+ *
+ * The mutex is an {@link AsyncSemaphore} of one permit; thus, the lock is granted in FIFO order, and it is
+ * not reentrant. The lock is released by releasing its permit.
+ */
+public final class AsyncMutex {
+    private final AsyncSemaphore semaphore = new AsyncSemaphore(1);
+
+    /**
+     * Returns a promise of the lock, completed once the lock is free.
+     * @return The promise of the permit of the lock.
+     */
+    public Promise<AsyncSemaphore.Permit> lock() {
+        return semaphore.acquire();
+    }
+
+    /**
+     * Acquires the lock immediately if it is free and no acquisition is queued.
+     * @return The permit of the lock, or null if the lock was not acquired.
+     */
+    public AsyncSemaphore.Permit tryLock() {
+        return semaphore.tryAcquire();
+    }
+
+    /**
+     * Returns a new promise of the promise of the supplier, which is started while holding the lock.
+     *
+     * Refer to {@link AsyncSemaphore#withPermit(Supplier)} for the semantics.
+     * @param supplier The supplier of the promise to start while holding the lock.
+     * @param <T> The type of the value promised to be available now, or in the future, or never.
+     * @return The new promise of the promise of the supplier.
+     */
+    public <T> Promise<T> withLock(Supplier<Promise<T>> supplier) {
+        return semaphore.withPermit(supplier);
+    }
+
+    /**
+     * Returns whether the lock is currently held.
+     * @return True if the lock is held.
+     */
+    public boolean isLocked() {
+        return semaphore.availablePermits() == 0;
+    }
+}
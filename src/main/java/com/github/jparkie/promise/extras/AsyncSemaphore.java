@@ -0,0 +1,262 @@
+package com.github.jparkie.promise.extras;
+
+import com.github.jparkie.promise.Action;
+import com.github.jparkie.promise.Promise;
+import com.github.jparkie.promise.Promises;
+import com.github.jparkie.promise.Scheduler;
+import com.github.jparkie.promise.Schedulers;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A semaphore whose acquisitions return promises instead of blocking threads.
+ *
+ * While permits are available and no acquisition is queued, a permit is acquired with a single compare-and-set.
+ * Otherwise, the acquisition is queued, and the queued acquisitions are granted in FIFO order as permits are
+ * released.
+ *
+ * If a queued promise cancels,
+ *  the acquisition leaves the queue, and a permit granted concurrently is released unless the actions of
+ *  the promise were already called with it; a delivered permit stays with its holder, who must release it.
+ */
+public final class AsyncSemaphore {
+    private static final Scheduler INLINE_SCHEDULER = Schedulers.newSimpleScheduler();
+    private static final int WAITING = 0;
+    private static final int GRANTED = 1;
+    private static final int CANCELLED = 2;
+
+    private final ConcurrentLinkedQueue<Waiter> waiters = new ConcurrentLinkedQueue<Waiter>();
+    private final AtomicInteger drainCounter = new AtomicInteger(0);
+    private final AtomicInteger permitCounter;
+
+    /**
+     * Constructor for an AsyncSemaphore.
+     *
+     * @param permits the number of permits initially available
+     */
+    public AsyncSemaphore(int permits) {
+        if (permits < 0) {
+            throw new IllegalArgumentException("permits must not be negative: " + permits);
+        }
+
+        this.permitCounter = new AtomicInteger(permits);
+    }
+
+    /**
+     * Returns a promise of a permit, completed once a permit is available.
+     * @return The promise of the permit.
+     */
+    public Promise<Permit> acquire() {
+        final Permit permit = tryAcquire();
+        if (permit != null) {
+            return Promises.value(permit);
+        }
+
+        final Waiter waiter = new Waiter();
+        waiter.waiterPromise.then(INLINE_SCHEDULER, waiter);
+        waiters.offer(waiter);
+        drain();
+
+        return waiter.waiterPromise;
+    }
+
+    /**
+     * Acquires a permit immediately if one is available and no acquisition is queued.
+     * @return The permit, or null if none was acquired.
+     */
+    public Permit tryAcquire() {
+        if (!waiters.isEmpty()) {
+            return null;
+        }
+
+        int permits;
+        do {
+            permits = permitCounter.get();
+            if (permits <= 0) {
+                return null;
+            }
+        } while (!permitCounter.compareAndSet(permits, permits - 1));
+
+        return new Permit();
+    }
+
+    /**
+     * Returns a new promise of the promise of the supplier, which is started while holding a permit.
+     *
+     * The permit is released once the promise of the supplier completes or cancels.
+     * If the new promise cancels before a permit is granted,
+     *  the supplier is not invoked.
+     * @param supplier The supplier of the promise to start while holding a permit.
+     * @param <T> The type of the value promised to be available now, or in the future, or never.
+     * @return The new promise of the promise of the supplier.
+     */
+    public <T> Promise<T> withPermit(final Supplier<Promise<T>> supplier) {
+        final Promise<T> permitPromise = Promises.promise();
+        final Promise<Permit> acquirePromise = acquire();
+        permitPromise.then(INLINE_SCHEDULER, new Action<T>() {
+            @Override
+            public void call(Promise<T> promise) {
+                // Do Nothing.
+            }
+
+            @Override
+            public void cancel() {
+                if (!acquirePromise.isCancelled()) {
+                    acquirePromise.cancel();
+                }
+            }
+        });
+        acquirePromise.then(INLINE_SCHEDULER, new Action<Permit>() {
+            @Override
+            public void call(Promise<Permit> promise) {
+                final Permit permit = promise.get();
+                final Promise<T> suppliedPromise;
+                try {
+                    suppliedPromise = supplier.get();
+                } catch (RuntimeException e) {
+                    permit.release();
+                    permitPromise.setError(e);
+                    return;
+                }
+
+                suppliedPromise.then(INLINE_SCHEDULER, new Action<T>() {
+                    @Override
+                    public void call(Promise<T> promise) {
+                        permit.release();
+                        if (promise.isSuccessful()) {
+                            permitPromise.set(promise.get());
+                        } else {
+                            permitPromise.setError(promise.getError());
+                        }
+                    }
+
+                    @Override
+                    public void cancel() {
+                        permit.release();
+                        if (!permitPromise.isCancelled()) {
+                            permitPromise.cancel();
+                        }
+                    }
+                });
+            }
+
+            @Override
+            public void cancel() {
+                if (!permitPromise.isCancelled()) {
+                    permitPromise.cancel();
+                }
+            }
+        });
+
+        return permitPromise;
+    }
+
+    /**
+     * Returns the number of permits currently available.
+     * @return The number of available permits.
+     */
+    public int availablePermits() {
+        return permitCounter.get();
+    }
+
+    /**
+     * Returns the number of acquisitions currently queued.
+     * @return The number of queued acquisitions.
+     */
+    public int queueLength() {
+        return waiters.size();
+    }
+
+    private void drain() {
+        if (drainCounter.getAndIncrement() != 0) {
+            return;
+        }
+
+        int missedCounter = 1;
+        do {
+            while (!waiters.isEmpty() && takePermit()) {
+                final Waiter waiter = waiters.poll();
+                if (waiter == null) {
+                    permitCounter.incrementAndGet();
+                    break;
+                }
+
+                final Permit permit = new Permit();
+                waiter.permit = permit;
+                if (!waiter.stateCounter.compareAndSet(WAITING, GRANTED)) {
+                    permitCounter.incrementAndGet();
+                    continue;
+                }
+
+                waiter.waiterPromise.set(permit);
+            }
+
+            missedCounter = drainCounter.addAndGet(-missedCounter);
+        } while (missedCounter != 0);
+    }
+
+    private boolean takePermit() {
+        int permits;
+        do {
+            permits = permitCounter.get();
+            if (permits <= 0) {
+                return false;
+            }
+        } while (!permitCounter.compareAndSet(permits, permits - 1));
+
+        return true;
+    }
+
+    /**
+     * A permit of an {@link AsyncSemaphore}. Releasing a permit is idempotent.
+     */
+    public final class Permit {
+        private final AtomicBoolean releaseFlag = new AtomicBoolean(false);
+
+        private Permit() {
+            // Do Nothing.
+        }
+
+        /**
+         * Releases the permit back to its semaphore, granting it to the next queued acquisition, if any.
+         */
+        public void release() {
+            if (releaseFlag.compareAndSet(false, true)) {
+                permitCounter.incrementAndGet();
+                drain();
+            }
+        }
+
+        /**
+         * Returns whether the permit has been released.
+         * @return True if the permit has been released.
+         */
+        public boolean isReleased() {
+            return releaseFlag.get();
+        }
+    }
+
+    // The waiter is an action of its own promise; as the promise either calls or cancels its actions, never both,
+    // a cancel() which follows the grant means that the permit never reached the holder.
+    private final class Waiter implements Action<Permit> {
+        private final AtomicInteger stateCounter = new AtomicInteger(WAITING);
+        private final Promise<Permit> waiterPromise = Promises.promise();
+
+        private volatile Permit permit;
+
+        @Override
+        public void call(Promise<Permit> promise) {
+            // Do Nothing.
+        }
+
+        @Override
+        public void cancel() {
+            waiters.remove(this);
+            if (!stateCounter.compareAndSet(WAITING, CANCELLED)) {
+                permit.release();
+            }
+        }
+    }
+}
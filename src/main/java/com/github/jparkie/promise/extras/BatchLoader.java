@@ -0,0 +1,237 @@
+package com.github.jparkie.promise.extras;
+
+import com.github.jparkie.promise.Action;
+import com.github.jparkie.promise.Promise;
+import com.github.jparkie.promise.Promises;
+import com.github.jparkie.promise.Scheduler;
+import com.github.jparkie.promise.Schedulers;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A loader which merges the loads of individual keys into bulk loads.
+ *
+ * Keys are collected into a batch until the batch reaches its maximum size or until its window elapses,
+ * whichever is first. The batch is then dispatched as one bulk load, whose values are fanned out to
+ * the promises of the individual keys. A key requested twice within a batch shares one promise.
+ *
+ * If the bulk load fails,
+ *  every promise of the batch fails with its failure.
+ * If the bulk load omits a key,
+ *  the promise of the key fails with a {@link NoSuchElementException}.
+ * If the bulk load cancels,
+ *  every promise of the batch cancels.
+ * @param <K> The type of the keys.
+ * @param <V> The type of the value promised to be available now, or in the future, or never.
+ */
+public final class BatchLoader<K, V> {
+    private static final Scheduler INLINE_SCHEDULER = Schedulers.newSimpleScheduler();
+
+    private final Object batchLock = new Object();
+    private final AtomicLong batchCounter = new AtomicLong(0);
+    private final AtomicLong keyCounter = new AtomicLong(0);
+    private final AtomicLong dedupCounter = new AtomicLong(0);
+    private final AtomicLong maxBatchSize = new AtomicLong(0);
+    private final BulkFunction<K, V> bulkFunction;
+    private final int maximumBatchSize;
+    private final long windowNanos;
+    private final ScheduledExecutorService timerService;
+
+    private Map<K, Promise<V>> batchPromises;
+
+    /**
+     * Constructor for a BatchLoader.
+     *
+     * @param bulkFunction the function to load a batch of keys
+     * @param maximumBatchSize the number of keys which dispatches a batch immediately
+     * @param window the duration after the first key of a batch after which the batch is dispatched
+     * @param unit the unit of the window
+     * @param timerService the executor which dispatches the batches whose window elapsed
+     */
+    public BatchLoader(BulkFunction<K, V> bulkFunction, int maximumBatchSize, long window, TimeUnit unit, ScheduledExecutorService timerService) {
+        if (maximumBatchSize < 1) {
+            throw new IllegalArgumentException("maximumBatchSize must be positive: " + maximumBatchSize);
+        }
+
+        this.bulkFunction = bulkFunction;
+        this.maximumBatchSize = maximumBatchSize;
+        this.windowNanos = unit.toNanos(window);
+        this.timerService = timerService;
+    }
+
+    /**
+     * Returns the promise of the value of the key, to be loaded with the current batch.
+     * @param key The key to load.
+     * @return The promise of the value of the key.
+     */
+    public Promise<V> load(K key) {
+        final Map<K, Promise<V>> fullBatchPromises;
+        final Promise<V> promise;
+        synchronized (batchLock) {
+            if (batchPromises == null) {
+                batchPromises = new LinkedHashMap<K, Promise<V>>();
+                scheduleWindow(batchPromises);
+            }
+
+            final Promise<V> existingPromise = batchPromises.get(key);
+            if (existingPromise != null) {
+                dedupCounter.incrementAndGet();
+                return existingPromise;
+            }
+
+            promise = Promises.promise();
+            batchPromises.put(key, promise);
+            if (batchPromises.size() < maximumBatchSize) {
+                return promise;
+            }
+
+            fullBatchPromises = batchPromises;
+            batchPromises = null;
+        }
+
+        dispatch(fullBatchPromises);
+        return promise;
+    }
+
+    /**
+     * Dispatches the current batch immediately, if any.
+     */
+    public void dispatch() {
+        final Map<K, Promise<V>> currentBatchPromises;
+        synchronized (batchLock) {
+            currentBatchPromises = batchPromises;
+            batchPromises = null;
+        }
+
+        if (currentBatchPromises != null) {
+            dispatch(currentBatchPromises);
+        }
+    }
+
+    /**
+     * Returns a snapshot of the statistics of the loader.
+     * @return The statistics of the loader.
+     */
+    public Stats stats() {
+        return new Stats(batchCounter.get(), keyCounter.get(), dedupCounter.get(), maxBatchSize.get());
+    }
+
+    private void scheduleWindow(final Map<K, Promise<V>> windowBatchPromises) {
+        timerService.schedule(new Runnable() {
+            @Override
+            public void run() {
+                synchronized (batchLock) {
+                    if (batchPromises != windowBatchPromises) {
+                        return;
+                    }
+
+                    batchPromises = null;
+                }
+
+                dispatch(windowBatchPromises);
+            }
+        }, windowNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void dispatch(final Map<K, Promise<V>> dispatchPromises) {
+        final int batchSize = dispatchPromises.size();
+        batchCounter.incrementAndGet();
+        keyCounter.addAndGet(batchSize);
+        long currentMaxBatchSize;
+        while ((currentMaxBatchSize = maxBatchSize.get()) < batchSize && !maxBatchSize.compareAndSet(currentMaxBatchSize, batchSize)) {
+            // Retry.
+        }
+
+        final Promise<Map<K, V>> bulkPromise;
+        try {
+            bulkPromise = bulkFunction.load(Collections.unmodifiableSet(dispatchPromises.keySet()));
+        } catch (RuntimeException e) {
+            for (Promise<V> promise : dispatchPromises.values()) {
+                promise.setError(e);
+            }
+            return;
+        }
+
+        bulkPromise.then(INLINE_SCHEDULER, new Action<Map<K, V>>() {
+            @Override
+            public void call(Promise<Map<K, V>> promise) {
+                if (!promise.isSuccessful()) {
+                    for (Promise<V> dispatchPromise : dispatchPromises.values()) {
+                        dispatchPromise.setError(promise.getError());
+                    }
+                    return;
+                }
+
+                final Map<K, V> values = promise.get();
+                for (Map.Entry<K, Promise<V>> entry : dispatchPromises.entrySet()) {
+                    if (values.containsKey(entry.getKey())) {
+                        entry.getValue().set(values.get(entry.getKey()));
+                    } else {
+                        entry.getValue().setError(new NoSuchElementException(String.valueOf(entry.getKey())));
+                    }
+                }
+            }
+
+            @Override
+            public void cancel() {
+                for (Promise<V> dispatchPromise : dispatchPromises.values()) {
+                    if (!dispatchPromise.isCancelled()) {
+                        dispatchPromise.cancel();
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * A function to load a batch of keys.
+     * @param <K> The type of the keys.
+     * @param <V> The type of the values.
+     */
+    public interface BulkFunction<K, V> {
+        /**
+         * Starts the loading of the values of the keys.
+         * @param keys The distinct keys of the batch.
+         * @return The promise of the values by key.
+         */
+        Promise<Map<K, V>> load(Set<K> keys);
+    }
+
+    /**
+     * A snapshot of the statistics of a {@link BatchLoader}.
+     */
+    public static final class Stats {
+        public final long batchCount;
+        public final long keyCount;
+        public final long dedupCount;
+        public final long maxBatchSize;
+
+        private Stats(long batchCount, long keyCount, long dedupCount, long maxBatchSize) {
+            this.batchCount = batchCount;
+            this.keyCount = keyCount;
+            this.dedupCount = dedupCount;
+            this.maxBatchSize = maxBatchSize;
+        }
+
+        /**
+         * Returns the average number of distinct keys per dispatched batch.
+         * @return The average batch size, or 0.0 if no batch was dispatched.
+         */
+        public double averageBatchSize() {
+            return batchCount == 0 ? 0.0 : (double) keyCount / batchCount;
+        }
+
+        @Override
+        public String toString() {
+            return "Stats{batchCount=" + batchCount + ", keyCount=" + keyCount +
+                    ", dedupCount=" + dedupCount + ", maxBatchSize=" + maxBatchSize + "}";
+        }
+    }
+}
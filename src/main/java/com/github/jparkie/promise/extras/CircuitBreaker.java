@@ -0,0 +1,335 @@
+package com.github.jparkie.promise.extras;
+
+import com.github.jparkie.promise.Action;
+import com.github.jparkie.promise.Promise;
+import com.github.jparkie.promise.Promises;
+import com.github.jparkie.promise.Scheduler;
+import com.github.jparkie.promise.Schedulers;
+import com.github.jparkie.promise.failures.CircuitOpenException;
+import com.github.jparkie.promise.failures.Failures;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A lock-free circuit breaker around the calls which produce promises.
+ *
+ * While closed, the outcomes of the calls are counted over a sliding window, which is a ring of buckets.
+ * A call which fails, or which succeeds slower than the slow call duration, is a failure. Once at least
+ * the minimum calls are counted within the window and the rate of failures reaches the threshold, the
+ * breaker opens.
+ *
+ * While open, the calls are rejected with a promise failed with a shared {@link CircuitOpenException}
+ * without invoking the supplier. After the open duration, the breaker is half-open and permits a limited
+ * number of probe calls: if every probe succeeds, the breaker closes; if any probe fails, the breaker opens again.
+ *
+ * A call which is cancelled is not counted.
+ */
+public final class CircuitBreaker {
+    private static final Scheduler INLINE_SCHEDULER = Schedulers.newSimpleScheduler();
+
+    private static final int BUCKET_COUNT = 10;
+    private static final int SUCCESS_OFFSET = 0;
+    private static final int FAILURE_OFFSET = 1;
+    private static final int SLOW_OFFSET = 2;
+    private static final int COUNTER_COUNT = 3;
+
+    private final AtomicReference<Phase> phaseReference = new AtomicReference<Phase>(new Phase(State.CLOSED, 0, 0));
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT * COUNTER_COUNT);
+    private final AtomicLong[] bucketEpochs = new AtomicLong[BUCKET_COUNT];
+    private final AtomicLong rejectedCounter = new AtomicLong(0);
+    private final Ticker ticker;
+    private final long originNanos;
+    private final double failureRateThreshold;
+    private final int minimumCalls;
+    private final long slowCallNanos;
+    private final long bucketNanos;
+    private final long openDurationNanos;
+    private final int halfOpenCalls;
+
+    /**
+     * Constructor for a CircuitBreaker.
+     *
+     * @param failureRateThreshold the rate of failures at which the breaker opens, between 0.0 and 1.0
+     * @param minimumCalls the number of calls within the window before the rate of failures is considered
+     * @param slowCallDuration the duration after which a successful call is a failure
+     * @param window the duration of the sliding window
+     * @param openDuration the duration for which the breaker stays open
+     * @param unit the unit of the durations
+     * @param halfOpenCalls the number of probe calls permitted while half-open
+     */
+    public CircuitBreaker(double failureRateThreshold, int minimumCalls, long slowCallDuration, long window, long openDuration, TimeUnit unit, int halfOpenCalls) {
+        this(failureRateThreshold, minimumCalls, slowCallDuration, window, openDuration, unit, halfOpenCalls, Ticker.SYSTEM);
+    }
+
+    CircuitBreaker(double failureRateThreshold, int minimumCalls, long slowCallDuration, long window, long openDuration, TimeUnit unit, int halfOpenCalls, Ticker ticker) {
+        if (failureRateThreshold <= 0.0 || failureRateThreshold > 1.0) {
+            throw new IllegalArgumentException("failureRateThreshold must be between 0.0 and 1.0: " + failureRateThreshold);
+        }
+        if (minimumCalls < 1) {
+            throw new IllegalArgumentException("minimumCalls must be positive: " + minimumCalls);
+        }
+        if (halfOpenCalls < 1) {
+            throw new IllegalArgumentException("halfOpenCalls must be positive: " + halfOpenCalls);
+        }
+
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            bucketEpochs[bucket] = new AtomicLong(-1);
+        }
+        this.ticker = ticker;
+        this.originNanos = ticker.read();
+        this.failureRateThreshold = failureRateThreshold;
+        this.minimumCalls = minimumCalls;
+        this.slowCallNanos = unit.toNanos(slowCallDuration);
+        this.bucketNanos = Math.max(1, unit.toNanos(window) / BUCKET_COUNT);
+        this.openDurationNanos = unit.toNanos(openDuration);
+        this.halfOpenCalls = halfOpenCalls;
+    }
+
+    /**
+     * Returns the promise of the supplier if the breaker permits the call.
+     *
+     * If the breaker rejects the call,
+     *  the supplier is not invoked, and the returned promise fails with a {@link CircuitOpenException}.
+     * If the supplier throws,
+     *  the call is a failure, and the returned promise fails with its exception.
+     * @param supplier The supplier of the promise.
+     * @param <T> The type of the value promised to be available now, or in the future, or never.
+     * @return The promise of the supplier, or a failed promise.
+     */
+    public <T> Promise<T> call(Supplier<Promise<T>> supplier) {
+        final Phase phase = acquire();
+        if (phase == null) {
+            rejectedCounter.incrementAndGet();
+            return Promises.error(Failures.circuitOpen());
+        }
+
+        final long startNanos = ticker.read();
+        final Promise<T> promise;
+        try {
+            promise = supplier.get();
+        } catch (RuntimeException e) {
+            onFailure(phase, FAILURE_OFFSET);
+            return Promises.error(e);
+        }
+
+        promise.then(INLINE_SCHEDULER, new Action<T>() {
+            @Override
+            public void call(Promise<T> promise) {
+                if (!promise.isSuccessful()) {
+                    onFailure(phase, FAILURE_OFFSET);
+                } else if (ticker.read() - startNanos > slowCallNanos) {
+                    onFailure(phase, SLOW_OFFSET);
+                } else {
+                    onSuccess(phase);
+                }
+            }
+
+            @Override
+            public void cancel() {
+                if (phase.state == State.HALF_OPEN) {
+                    phase.permitCounter.incrementAndGet();
+                }
+            }
+        });
+
+        return promise;
+    }
+
+    /**
+     * Returns the current state of the breaker.
+     * @return The current state.
+     */
+    public State getState() {
+        final Phase phase = phaseReference.get();
+        if (phase.state == State.OPEN && ticker.read() - phase.openedAtNanos >= openDurationNanos) {
+            return State.HALF_OPEN;
+        }
+
+        return phase.state;
+    }
+
+    /**
+     * Returns a snapshot of the statistics of the breaker within the window.
+     * @return The statistics of the breaker.
+     */
+    public Stats stats() {
+        final long epoch = currentEpoch();
+        final long[] totals = new long[COUNTER_COUNT];
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            if (isLive(bucket, epoch)) {
+                for (int offset = 0; offset < COUNTER_COUNT; offset++) {
+                    totals[offset] += counts.get(bucket * COUNTER_COUNT + offset);
+                }
+            }
+        }
+
+        return new Stats(getState(), totals[SUCCESS_OFFSET], totals[FAILURE_OFFSET], totals[SLOW_OFFSET], rejectedCounter.get());
+    }
+
+    private Phase acquire() {
+        while (true) {
+            final Phase phase = phaseReference.get();
+            if (phase.state == State.CLOSED) {
+                return phase;
+            }
+
+            if (phase.state == State.OPEN) {
+                if (ticker.read() - phase.openedAtNanos < openDurationNanos) {
+                    return null;
+                }
+
+                phaseReference.compareAndSet(phase, new Phase(State.HALF_OPEN, 0, halfOpenCalls));
+                continue;
+            }
+
+            int permits;
+            do {
+                permits = phase.permitCounter.get();
+                if (permits <= 0) {
+                    return null;
+                }
+            } while (!phase.permitCounter.compareAndSet(permits, permits - 1));
+
+            return phase;
+        }
+    }
+
+    // Each closing creates a new closed phase; thus, the late outcomes of the calls of an earlier closed phase
+    // are not counted against the current one.
+    private void onSuccess(Phase phase) {
+        if (phase.state == State.CLOSED) {
+            if (phaseReference.get() == phase) {
+                record(SUCCESS_OFFSET);
+            }
+            return;
+        }
+
+        if (phase.successCounter.incrementAndGet() == halfOpenCalls && phaseReference.compareAndSet(phase, new Phase(State.CLOSED, 0, 0))) {
+            for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+                bucketEpochs[bucket].set(-1);
+            }
+        }
+    }
+
+    private void onFailure(Phase phase, int offset) {
+        if (phase.state != State.CLOSED) {
+            phaseReference.compareAndSet(phase, new Phase(State.OPEN, ticker.read(), 0));
+            return;
+        }
+        if (phaseReference.get() != phase) {
+            return;
+        }
+
+        record(offset);
+
+        final long epoch = currentEpoch();
+        long callCount = 0;
+        long failureCount = 0;
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            if (isLive(bucket, epoch)) {
+                callCount += counts.get(bucket * COUNTER_COUNT + SUCCESS_OFFSET);
+                failureCount += counts.get(bucket * COUNTER_COUNT + FAILURE_OFFSET);
+                failureCount += counts.get(bucket * COUNTER_COUNT + SLOW_OFFSET);
+            }
+        }
+        callCount += failureCount;
+
+        if (callCount >= minimumCalls && failureCount >= failureRateThreshold * callCount) {
+            phaseReference.compareAndSet(phase, new Phase(State.OPEN, ticker.read(), 0));
+        }
+    }
+
+    private void record(int offset) {
+        final long epoch = currentEpoch();
+        final int bucket = (int) (epoch % BUCKET_COUNT);
+        final AtomicLong bucketEpoch = bucketEpochs[bucket];
+        final long previousEpoch = bucketEpoch.get();
+        if (previousEpoch != epoch && bucketEpoch.compareAndSet(previousEpoch, epoch)) {
+            for (int counter = 0; counter < COUNTER_COUNT; counter++) {
+                counts.set(bucket * COUNTER_COUNT + counter, 0);
+            }
+        }
+
+        counts.incrementAndGet(bucket * COUNTER_COUNT + offset);
+    }
+
+    private long currentEpoch() {
+        return (ticker.read() - originNanos) / bucketNanos;
+    }
+
+    private boolean isLive(int bucket, long epoch) {
+        final long bucketEpoch = bucketEpochs[bucket].get();
+        return bucketEpoch >= 0 && epoch - bucketEpoch < BUCKET_COUNT;
+    }
+
+    /**
+     * The states of a {@link CircuitBreaker}.
+     */
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    /**
+     * A snapshot of the statistics of a {@link CircuitBreaker}.
+     */
+    public static final class Stats {
+        public final State state;
+        public final long successCount;
+        public final long failureCount;
+        public final long slowCount;
+        public final long rejectedCount;
+
+        private Stats(State state, long successCount, long failureCount, long slowCount, long rejectedCount) {
+            this.state = state;
+            this.successCount = successCount;
+            this.failureCount = failureCount;
+            this.slowCount = slowCount;
+            this.rejectedCount = rejectedCount;
+        }
+
+        /**
+         * Returns the rate of failures, including the slow calls, within the window.
+         * @return The rate of failures, or 0.0 if no call was counted.
+         */
+        public double failureRate() {
+            final long callCount = successCount + failureCount + slowCount;
+            return callCount == 0 ? 0.0 : (double) (failureCount + slowCount) / callCount;
+        }
+
+        @Override
+        public String toString() {
+            return "Stats{state=" + state + ", successCount=" + successCount + ", failureCount=" + failureCount +
+                    ", slowCount=" + slowCount + ", rejectedCount=" + rejectedCount + "}";
+        }
+    }
+
+    interface Ticker {
+        Ticker SYSTEM = new Ticker() {
+            @Override
+            public long read() {
+                return System.nanoTime();
+            }
+        };
+
+        long read();
+    }
+
+    private static final class Phase {
+        private final AtomicInteger permitCounter;
+        private final AtomicInteger successCounter = new AtomicInteger(0);
+        private final State state;
+        private final long openedAtNanos;
+
+        private Phase(State state, long openedAtNanos, int permits) {
+            this.permitCounter = new AtomicInteger(permits);
+            this.state = state;
+            this.openedAtNanos = openedAtNanos;
+        }
+    }
+}
@@ -4,10 +4,29 @@ import com.github.jparkie.promise.Action;
 import com.github.jparkie.promise.Promise;
 import com.github.jparkie.promise.Promises;
 import com.github.jparkie.promise.Scheduler;
+import com.github.jparkie.promise.Schedulers;
+import com.github.jparkie.promise.failures.Failures;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * A helper class for {@link Promise}.
@@ -16,6 +35,14 @@ import java.util.concurrent.atomic.AtomicReference;
  */
 @SuppressWarnings("unchecked")
 public final class ExtraPromises {
+    private static final Scheduler INLINE_SCHEDULER = Schedulers.newSimpleScheduler();
+    private static final ThreadLocal<AwaitContext> AWAIT_CONTEXT = new ThreadLocal<AwaitContext>() {
+        @Override
+        protected AwaitContext initialValue() {
+            return new AwaitContext(Thread.currentThread());
+        }
+    };
+
     private ExtraPromises() throws IllegalAccessException {
         throw new IllegalAccessException();
     }
@@ -192,4 +219,1112 @@ public final class ExtraPromises {
 
         return zippedPromise;
     }
+
+    /**
+     * Returns a new promise which completes with the first k successful values of the provided promises.
+     *
+     * The notice of completion of the provided promises is lock-free.
+     * The values are ordered by their completion.
+     *
+     * Upon the decision of the new promise, the outstanding provided promises are cancelled.
+     * If success becomes impossible due to failures,
+     *  the new promise fails with the first failure.
+     * If success becomes impossible due to cancellations only,
+     *  the new promise cancels.
+     * If the new promise cancels,
+     *  the outstanding provided promises are cancelled.
+     *
+     * @param scheduler The scheduler under which to operate.
+     * @param k The number of successful values required.
+     * @param promises The promises to wait upon.
+     * @param <T> The type of the value promised to be available now, or in the future, or never.
+     * @return The new promise which waits on k successful promises.
+     * @throws IllegalArgumentException If k is not between 1 and the number of promises,
+     * an exception is thrown.
+     */
+    public static <T> Promise<List<T>> quorum(Scheduler scheduler, final int k, final Promise<T>... promises) {
+        if (k < 1 || k > promises.length) {
+            throw new IllegalArgumentException("k must be between 1 and " + promises.length + ": " + k);
+        }
+
+        final int maximumLosses = promises.length - k;
+        final AtomicBoolean decisionFlag = new AtomicBoolean(false);
+        final AtomicInteger successCounter = new AtomicInteger(0);
+        final AtomicInteger filledCounter = new AtomicInteger(0);
+        final AtomicInteger lossCounter = new AtomicInteger(0);
+        final AtomicReference<Throwable> errorReference = new AtomicReference<Throwable>(null);
+        final AtomicReferenceArray<T> valueReferences = new AtomicReferenceArray<T>(k);
+        final Promise<List<T>> quorumPromise = Promises.promise();
+        quorumPromise.then(scheduler, new Action<List<T>>() {
+            @Override
+            public void call(Promise<List<T>> promise) {
+                // Do Nothing.
+            }
+
+            @Override
+            public void cancel() {
+                if (decisionFlag.compareAndSet(false, true)) {
+                    cancelOutstanding(promises);
+                }
+            }
+        });
+        for (Promise<T> promise : promises) {
+            promise.then(scheduler, new Action<T>() {
+                @Override
+                public void call(Promise<T> promise) {
+                    if (decisionFlag.get()) {
+                        return;
+                    }
+
+                    if (!promise.isSuccessful()) {
+                        errorReference.compareAndSet(null, promise.getError());
+                        onLoss();
+                        return;
+                    }
+
+                    final int valueIndex = successCounter.getAndIncrement();
+                    if (valueIndex >= k) {
+                        return;
+                    }
+                    valueReferences.set(valueIndex, promise.get());
+                    if (filledCounter.incrementAndGet() == k && decisionFlag.compareAndSet(false, true)) {
+                        final List<T> values = new ArrayList<T>(k);
+                        for (int index = 0; index < k; index++) {
+                            values.add(valueReferences.get(index));
+                        }
+
+                        cancelOutstanding(promises);
+                        quorumPromise.set(values);
+                    }
+                }
+
+                @Override
+                public void cancel() {
+                    if (decisionFlag.get()) {
+                        return;
+                    }
+
+                    onLoss();
+                }
+
+                private void onLoss() {
+                    if (lossCounter.incrementAndGet() > maximumLosses && decisionFlag.compareAndSet(false, true)) {
+                        cancelOutstanding(promises);
+
+                        final Throwable error = errorReference.get();
+                        if (error != null) {
+                            quorumPromise.setError(error);
+                        } else {
+                            quorumPromise.cancel();
+                        }
+                    }
+                }
+            });
+        }
+
+        return quorumPromise;
+    }
+
+    /**
+     * Returns a new promise which gathers the provided promises until the deadline promise completes
+     * or until all the provided promises complete, whichever is first.
+     *
+     * No thread is blocked while waiting. The deadline promise should be completed by a timer
+     * of the caller's choosing; its value is ignored. If the deadline promise cancels,
+     *  the new promise waits for all the provided promises.
+     *
+     * Upon the gather, the pending provided promises are cancelled.
+     * If the new promise cancels,
+     *  the pending provided promises are cancelled.
+     *
+     * @param scheduler The scheduler under which to operate.
+     * @param deadline The promise whose completion marks the deadline.
+     * @param promises The promises to gather.
+     * @param <T> The type of the value promised to be available now, or in the future, or never.
+     * @return The new promise of the successes, the failures, and the pending indices.
+     */
+    public static <T> Promise<GatherResult<T>> gatherUntil(Scheduler scheduler, Promise<?> deadline, final Promise<T>... promises) {
+        final AtomicBoolean gatherFlag = new AtomicBoolean(false);
+        final AtomicInteger remainingCounter = new AtomicInteger(promises.length);
+        final Promise<GatherResult<T>> gatherPromise = Promises.promise();
+        gatherPromise.then(scheduler, new Action<GatherResult<T>>() {
+            @Override
+            public void call(Promise<GatherResult<T>> promise) {
+                // Do Nothing.
+            }
+
+            @Override
+            public void cancel() {
+                if (gatherFlag.compareAndSet(false, true)) {
+                    cancelOutstanding(promises);
+                }
+            }
+        });
+        if (promises.length == 0 && gatherFlag.compareAndSet(false, true)) {
+            gatherPromise.set(gather(promises));
+            return gatherPromise;
+        }
+        ((Promise<Object>) deadline).then(scheduler, new Action<Object>() {
+            @Override
+            public void call(Promise<Object> promise) {
+                if (gatherFlag.compareAndSet(false, true)) {
+                    gatherPromise.set(gather(promises));
+                }
+            }
+
+            @Override
+            public void cancel() {
+                // Do Nothing.
+            }
+        });
+        for (Promise<T> promise : promises) {
+            promise.then(scheduler, new Action<T>() {
+                @Override
+                public void call(Promise<T> promise) {
+                    onSettle();
+                }
+
+                @Override
+                public void cancel() {
+                    onSettle();
+                }
+
+                private void onSettle() {
+                    if (remainingCounter.decrementAndGet() == 0 && gatherFlag.compareAndSet(false, true)) {
+                        gatherPromise.set(gather(promises));
+                    }
+                }
+            });
+        }
+
+        return gatherPromise;
+    }
+
+    /**
+     * Returns a new promise of the values mapped from the provided elements, in the order of the elements.
+     *
+     * The elements are pulled lazily, and at most maxInFlight mapped promises are outstanding at any time.
+     * The next element is mapped upon the completion of an outstanding promise; no thread is blocked.
+     *
+     * If any of the mapped promises fail,
+     *  the new promise fails with the first failure and the outstanding promises are cancelled.
+     * If any of the mapped promises cancel,
+     *  the new promise cancels.
+     * If the new promise cancels,
+     *  the outstanding promises are cancelled.
+     *
+     * @param scheduler The scheduler under which to operate.
+     * @param elements The elements to map.
+     * @param maxInFlight The maximum number of outstanding mapped promises.
+     * @param mapper The mapper to transform an element into a promise.
+     * @param <T> The type of the elements.
+     * @param <U> The type of the value promised to be available now, or in the future, or never.
+     * @return The new promise of the mapped values in the order of the elements.
+     */
+    public static <T, U> Promise<List<U>> mapAsync(Scheduler scheduler, Iterable<T> elements, int maxInFlight, Mapper<T, Promise<U>> mapper) {
+        return new MapAsyncContext<T, U>(scheduler, elements.iterator(), maxInFlight, mapper, true).start();
+    }
+
+    /**
+     * Returns a new promise of the values mapped from the provided elements, in the order of their completion.
+     *
+     * Refer to {@link #mapAsync(Scheduler, Iterable, int, Mapper)} for the semantics.
+     *
+     * @param scheduler The scheduler under which to operate.
+     * @param elements The elements to map.
+     * @param maxInFlight The maximum number of outstanding mapped promises.
+     * @param mapper The mapper to transform an element into a promise.
+     * @param <T> The type of the elements.
+     * @param <U> The type of the value promised to be available now, or in the future, or never.
+     * @return The new promise of the mapped values in the order of their completion.
+     */
+    public static <T, U> Promise<List<U>> mapAsyncUnordered(Scheduler scheduler, Iterable<T> elements, int maxInFlight, Mapper<T, Promise<U>> mapper) {
+        return new MapAsyncContext<T, U>(scheduler, elements.iterator(), maxInFlight, mapper, false).start();
+    }
+
+    /**
+     * Returns a new promise of the values of the provided promises folded in the order of their completion.
+     *
+     * Each value is folded as it arrives and is released afterwards; thus, the values are never materialized.
+     * The accumulator is never called concurrently.
+     *
+     * If any of the provided promises fail,
+     *  the new promise fails with the first failure.
+     * If any of the provided promises cancel,
+     *  the new promise cancels.
+     *
+     * @param scheduler The scheduler under which to operate.
+     * @param promises The promises to fold.
+     * @param identity The initial accumulated result.
+     * @param accumulator The accumulator to fold a value into the accumulated result.
+     * @param <T> The type of the value promised to be available now, or in the future, or never.
+     * @param <R> The type of the accumulated result.
+     * @return The new promise of the accumulated result.
+     */
+    public static <T, R> Promise<R> fold(Scheduler scheduler, Iterable<Promise<T>> promises, R identity, Accumulator<R, T> accumulator) {
+        return new FoldContext<T, R>(identity, accumulator, false).start(scheduler, promises);
+    }
+
+    /**
+     * Returns a new promise of the values of the provided promises folded in the order of the promises.
+     *
+     * Values which complete out of order are retained until their predecessors are folded.
+     * Refer to {@link #fold(Scheduler, Iterable, Object, Accumulator)} for the semantics.
+     *
+     * @param scheduler The scheduler under which to operate.
+     * @param promises The promises to fold.
+     * @param identity The initial accumulated result.
+     * @param accumulator The accumulator to fold a value into the accumulated result.
+     * @param <T> The type of the value promised to be available now, or in the future, or never.
+     * @param <R> The type of the accumulated result.
+     * @return The new promise of the accumulated result.
+     */
+    public static <T, R> Promise<R> foldOrdered(Scheduler scheduler, Iterable<Promise<T>> promises, R identity, Accumulator<R, T> accumulator) {
+        return new FoldContext<T, R>(identity, accumulator, true).start(scheduler, promises);
+    }
+
+    /**
+     * Returns a new iterator of the values of the provided promises in the order of their completion.
+     *
+     * The promises are pulled lazily, and at most capacity promises are outstanding or buffered at any time.
+     * The next promise is pulled upon the consumption of a buffered promise; thus, a slow consumer
+     *  exerts backpressure upon the provided promises.
+     *
+     * If any of the provided promises fail,
+     *  the failure is returned as the element.
+     * If any of the provided promises cancel,
+     *  the promise is skipped.
+     * If the iterator cancels,
+     *  the outstanding provided promises are cancelled.
+     *
+     * @param scheduler The scheduler under which to operate.
+     * @param promises The promises to iterate.
+     * @param capacity The maximum number of outstanding or buffered promises.
+     * @param <T> The type of the value promised to be available now, or in the future, or never.
+     * @return The new iterator in the order of completion.
+     */
+    public static <T> AsyncIterator<T> completionOrder(Scheduler scheduler, Iterable<Promise<T>> promises, int capacity) {
+        return new CompletionIterator<T>(scheduler, promises.iterator(), capacity);
+    }
+
+    /**
+     * Await the completion or the cancellation of all the provided promises at most the time specified.
+     *
+     * One waiter per thread is shared by all the provided promises, so the calling thread parks once
+     * instead of once per promise. The waiter is registered at most once on each promise until
+     * the promise completes or cancels; thus, repeated awaits on a pending promise, such as in a polling loop,
+     * do not accumulate actions on it. Until then, the thread retains a reference to the pending promise.
+     *
+     * @param timeout The duration at most to await.
+     * @param unit The unit of duration to await.
+     * @param promises The promises to await.
+     * @return The indices of the promises which completed or cancelled, in ascending order.
+     * @throws InterruptedException If the thread awaiting on the promises is interrupted,
+     * an exception is thrown.
+     */
+    public static List<Integer> awaitAll(long timeout, TimeUnit unit, Promise<?>... promises) throws InterruptedException {
+        return AWAIT_CONTEXT.get().await(timeout, unit, promises, promises.length);
+    }
+
+    /**
+     * Await the completion or the cancellation of any of the provided promises at most the time specified.
+     *
+     * Refer to {@link #awaitAll(long, TimeUnit, Promise[])} for the semantics.
+     *
+     * @param timeout The duration at most to await.
+     * @param unit The unit of duration to await.
+     * @param promises The promises to await.
+     * @return The indices of the promises which completed or cancelled, in ascending order.
+     * @throws InterruptedException If the thread awaiting on the promises is interrupted,
+     * an exception is thrown.
+     */
+    public static List<Integer> awaitAny(long timeout, TimeUnit unit, Promise<?>... promises) throws InterruptedException {
+        return AWAIT_CONTEXT.get().await(timeout, unit, promises, Math.min(1, promises.length));
+    }
+
+    /**
+     * Returns a new promise of a request which is hedged by a second attempt when the first attempt
+     * is slower than usual.
+     *
+     * The second attempt starts after the delay derived from the policy, unless the policy caps the hedge.
+     * The first successful attempt completes the new promise, and the other attempt is cancelled.
+     * Once an attempt succeeds, the policy observes the latency of the request from the start of the first attempt;
+     * thus, a hedged request is observed with the latency of its slow first attempt up to the decision.
+     * A second attempt which loses is cancelled, and its elapsed time is observed as well.
+     *
+     * If every started attempt fails and no further attempt will start,
+     *  the new promise fails with the last failure.
+     * If every started attempt cancels and no further attempt will start,
+     *  the new promise cancels.
+     * If the new promise cancels,
+     *  the attempts are cancelled.
+     *
+     * @param scheduler The scheduler under which to operate.
+     * @param supplier The supplier of the promise of an attempt.
+     * @param policy The policy of when to hedge.
+     * @param <T> The type of the value promised to be available now, or in the future, or never.
+     * @return The new promise of the first successful attempt.
+     */
+    public static <T> Promise<T> hedge(Scheduler scheduler, Supplier<Promise<T>> supplier, HedgePolicy policy) {
+        return new HedgeContext<T>(scheduler, supplier, policy).start();
+    }
+
+    /**
+     * Returns a new promise of the values mapped from the provided elements, computed in parallel.
+     *
+     * The elements are split recursively in halves until a chunk has at most grainSize elements;
+     * one half is scheduled onto the scheduler while the other half continues on the current worker.
+     * Each chunk is mapped synchronously, and its values are written into one pre-sized array; thus,
+     * no promise is created per element. The scheduler should be backed by a pool of workers to scale
+     * with the cores. On Java 8, {@code ForkJoinPromises.parallelMap()} runs the chunks as fork-join
+     * subtasks of a work-stealing pool instead.
+     *
+     * If the mapper throws, or the scheduler rejects a chunk,
+     *  the new promise fails with the first exception and the remaining chunks are skipped.
+     * If the new promise cancels,
+     *  the remaining chunks are skipped.
+     *
+     * @param scheduler The scheduler to run the chunks.
+     * @param elements The elements to map.
+     * @param mapper The mapper to transform an element into a value.
+     * @param grainSize The maximum number of elements of a chunk.
+     * @param <T> The type of the elements.
+     * @param <U> The type of the value promised to be available now, or in the future, or never.
+     * @return The new promise of the mapped values in the order of the elements.
+     */
+    public static <T, U> Promise<List<U>> parallelMap(Scheduler scheduler, List<T> elements, Mapper<T, U> mapper, int grainSize) {
+        if (grainSize < 1) {
+            throw new IllegalArgumentException("grainSize must be positive: " + grainSize);
+        }
+
+        return new ParallelMapContext<T, U>(scheduler, elements, mapper, grainSize).start();
+    }
+
+    private static <T> GatherResult<T> gather(Promise<T>[] promises) {
+        final Map<Integer, T> successes = new LinkedHashMap<Integer, T>();
+        final Map<Integer, Throwable> failures = new LinkedHashMap<Integer, Throwable>();
+        final List<Integer> pending = new ArrayList<Integer>();
+        for (int index = 0; index < promises.length; index++) {
+            final Promise<T> promise = promises[index];
+            if (!promise.isDone()) {
+                pending.add(index);
+                if (!promise.isCancelled()) {
+                    promise.cancel();
+                }
+            } else if (promise.isSuccessful()) {
+                successes.put(index, promise.get());
+            } else {
+                failures.put(index, promise.getError());
+            }
+        }
+
+        return new GatherResult<T>(successes, failures, pending);
+    }
+
+    private static void cancelOutstanding(Promise<?>[] promises) {
+        for (Promise<?> promise : promises) {
+            if (!promise.isDone() && !promise.isCancelled()) {
+                promise.cancel();
+            }
+        }
+    }
+
+    private static final class MapAsyncContext<T, U> {
+        private final AtomicInteger drainCounter = new AtomicInteger(0);
+        private final ConcurrentLinkedQueue<Completion<U>> completions = new ConcurrentLinkedQueue<Completion<U>>();
+        private final Map<Integer, Promise<U>> inFlightPromises = new HashMap<Integer, Promise<U>>();
+        private final List<U> values = new ArrayList<U>();
+        private final Promise<List<U>> mapPromise = Promises.promise();
+        private final Scheduler scheduler;
+        private final Iterator<T> iterator;
+        private final int maxInFlight;
+        private final Mapper<T, Promise<U>> mapper;
+        private final boolean orderFlag;
+
+        private int nextIndex;
+        private boolean doneFlag;
+
+        private MapAsyncContext(Scheduler scheduler, Iterator<T> iterator, int maxInFlight, Mapper<T, Promise<U>> mapper, boolean orderFlag) {
+            if (maxInFlight < 1) {
+                throw new IllegalArgumentException("maxInFlight must be positive: " + maxInFlight);
+            }
+
+            this.scheduler = scheduler;
+            this.iterator = iterator;
+            this.maxInFlight = maxInFlight;
+            this.mapper = mapper;
+            this.orderFlag = orderFlag;
+        }
+
+        private Promise<List<U>> start() {
+            mapPromise.then(scheduler, new Action<List<U>>() {
+                @Override
+                public void call(Promise<List<U>> promise) {
+                    // Do Nothing.
+                }
+
+                @Override
+                public void cancel() {
+                    drain();
+                }
+            });
+            drain();
+
+            return mapPromise;
+        }
+
+        private void drain() {
+            if (drainCounter.getAndIncrement() != 0) {
+                return;
+            }
+
+            int missedCounter = 1;
+            do {
+                if (!doneFlag) {
+                    drainCompletions();
+                }
+                if (!doneFlag && mapPromise.isCancelled()) {
+                    finish();
+                }
+                if (!doneFlag) {
+                    drainElements();
+                }
+
+                missedCounter = drainCounter.addAndGet(-missedCounter);
+            } while (missedCounter != 0);
+        }
+
+        private void drainCompletions() {
+            Completion<U> completion;
+            while (!doneFlag && (completion = completions.poll()) != null) {
+                inFlightPromises.remove(completion.index);
+                if (completion.promise == null) {
+                    finish();
+                    mapPromise.cancel();
+                } else if (!completion.promise.isSuccessful()) {
+                    finish();
+                    mapPromise.setError(completion.promise.getError());
+                } else if (orderFlag) {
+                    values.set(completion.index, completion.promise.get());
+                } else {
+                    values.add(completion.promise.get());
+                }
+            }
+        }
+
+        private void drainElements() {
+            try {
+                while (inFlightPromises.size() < maxInFlight && iterator.hasNext()) {
+                    final int index = nextIndex++;
+                    final Promise<U> promise = mapper.map(iterator.next());
+                    inFlightPromises.put(index, promise);
+                    if (orderFlag) {
+                        values.add(null);
+                    }
+
+                    promise.then(scheduler, new Action<U>() {
+                        @Override
+                        public void call(Promise<U> promise) {
+                            completions.offer(new Completion<U>(index, promise));
+                            drain();
+                        }
+
+                        @Override
+                        public void cancel() {
+                            completions.offer(new Completion<U>(index, null));
+                            drain();
+                        }
+                    });
+                }
+            } catch (RuntimeException e) {
+                finish();
+                mapPromise.setError(e);
+                return;
+            }
+
+            if (inFlightPromises.isEmpty() && !iterator.hasNext()) {
+                doneFlag = true;
+                mapPromise.set(values);
+            }
+        }
+
+        private void finish() {
+            doneFlag = true;
+            for (Promise<U> promise : inFlightPromises.values()) {
+                if (!promise.isDone() && !promise.isCancelled()) {
+                    promise.cancel();
+                }
+            }
+            inFlightPromises.clear();
+            completions.clear();
+        }
+    }
+
+    private static final class FoldContext<T, R> {
+        private final AtomicInteger drainCounter = new AtomicInteger(0);
+        private final AtomicInteger registerCounter = new AtomicInteger(0);
+        private final ConcurrentLinkedQueue<Completion<T>> completions = new ConcurrentLinkedQueue<Completion<T>>();
+        private final Map<Integer, Promise<T>> earlyPromises = new HashMap<Integer, Promise<T>>();
+        private final Promise<R> foldPromise = Promises.promise();
+        private final Accumulator<R, T> accumulator;
+        private final boolean orderFlag;
+
+        private volatile boolean registerFlag;
+        private R accumulated;
+        private int foldCounter;
+        private boolean doneFlag;
+
+        private FoldContext(R identity, Accumulator<R, T> accumulator, boolean orderFlag) {
+            this.accumulated = identity;
+            this.accumulator = accumulator;
+            this.orderFlag = orderFlag;
+        }
+
+        private Promise<R> start(Scheduler scheduler, Iterable<Promise<T>> promises) {
+            for (Promise<T> promise : promises) {
+                if (foldPromise.isDone() || foldPromise.isCancelled()) {
+                    break;
+                }
+
+                final int index = registerCounter.getAndIncrement();
+                promise.then(scheduler, new Action<T>() {
+                    @Override
+                    public void call(Promise<T> promise) {
+                        completions.offer(new Completion<T>(index, promise));
+                        drain();
+                    }
+
+                    @Override
+                    public void cancel() {
+                        completions.offer(new Completion<T>(index, null));
+                        drain();
+                    }
+                });
+            }
+            registerFlag = true;
+            drain();
+
+            return foldPromise;
+        }
+
+        private void drain() {
+            if (drainCounter.getAndIncrement() != 0) {
+                return;
+            }
+
+            int missedCounter = 1;
+            do {
+                if (!doneFlag) {
+                    drainCompletions();
+                }
+                if (!doneFlag && registerFlag && foldCounter == registerCounter.get()) {
+                    doneFlag = true;
+                    foldPromise.set(accumulated);
+                    accumulated = null;
+                }
+
+                missedCounter = drainCounter.addAndGet(-missedCounter);
+            } while (missedCounter != 0);
+        }
+
+        private void drainCompletions() {
+            Completion<T> completion;
+            while (!doneFlag && (completion = completions.poll()) != null) {
+                if (completion.promise == null) {
+                    finish();
+                    foldPromise.cancel();
+                } else if (!completion.promise.isSuccessful()) {
+                    finish();
+                    foldPromise.setError(completion.promise.getError());
+                } else if (!orderFlag) {
+                    accumulate(completion.promise);
+                } else {
+                    earlyPromises.put(completion.index, completion.promise);
+                    Promise<T> promise;
+                    while (!doneFlag && (promise = earlyPromises.remove(foldCounter)) != null) {
+                        accumulate(promise);
+                    }
+                }
+            }
+        }
+
+        private void accumulate(Promise<T> promise) {
+            try {
+                accumulated = accumulator.accumulate(accumulated, promise.get());
+                foldCounter++;
+            } catch (RuntimeException e) {
+                finish();
+                foldPromise.setError(e);
+            }
+        }
+
+        private void finish() {
+            doneFlag = true;
+            accumulated = null;
+            earlyPromises.clear();
+            completions.clear();
+        }
+    }
+
+    private static final class CompletionIterator<T> implements AsyncIterator<T> {
+        private final AtomicInteger drainCounter = new AtomicInteger(0);
+        private final ConcurrentLinkedQueue<Promise<T>> completions = new ConcurrentLinkedQueue<Promise<T>>();
+        private final ConcurrentLinkedQueue<Promise<T>> waiters = new ConcurrentLinkedQueue<Promise<T>>();
+        private final ArrayDeque<Promise<T>> bufferedPromises = new ArrayDeque<Promise<T>>();
+        private final Set<Promise<T>> outstandingPromises = new HashSet<Promise<T>>();
+        private final Action<T> completionAction = new Action<T>() {
+            @Override
+            public void call(Promise<T> promise) {
+                completions.offer(promise);
+                drain();
+            }
+
+            @Override
+            public void cancel() {
+                drain();
+            }
+        };
+        private final Scheduler scheduler;
+        private final Iterator<Promise<T>> iterator;
+        private final int capacity;
+
+        private volatile boolean cancelFlag;
+        private Throwable iteratorError;
+
+        private CompletionIterator(Scheduler scheduler, Iterator<Promise<T>> iterator, int capacity) {
+            if (capacity < 1) {
+                throw new IllegalArgumentException("capacity must be positive: " + capacity);
+            }
+
+            this.scheduler = scheduler;
+            this.iterator = iterator;
+            this.capacity = capacity;
+
+            drain();
+        }
+
+        @Override
+        public Promise<T> next() {
+            final Promise<T> waiter = Promises.promise();
+            waiters.offer(waiter);
+            drain();
+
+            return waiter;
+        }
+
+        @Override
+        public void cancel() {
+            cancelFlag = true;
+            drain();
+        }
+
+        private void drain() {
+            if (drainCounter.getAndIncrement() != 0) {
+                return;
+            }
+
+            int missedCounter = 1;
+            do {
+                if (cancelFlag) {
+                    drainCancel();
+                } else {
+                    drainCompletions();
+                    drainWaiters();
+                    drainPromises();
+                    if (bufferedPromises.isEmpty() && outstandingPromises.isEmpty() && iteratorError == null && !iterator.hasNext()) {
+                        drainEnd(Failures.endOfStream());
+                    } else if (bufferedPromises.isEmpty() && outstandingPromises.isEmpty() && iteratorError != null) {
+                        drainEnd(iteratorError);
+                    }
+                }
+
+                missedCounter = drainCounter.addAndGet(-missedCounter);
+            } while (missedCounter != 0);
+        }
+
+        private void drainCompletions() {
+            Promise<T> promise;
+            while ((promise = completions.poll()) != null) {
+                outstandingPromises.remove(promise);
+                bufferedPromises.offer(promise);
+            }
+
+            for (Iterator<Promise<T>> outstandingIterator = outstandingPromises.iterator(); outstandingIterator.hasNext(); ) {
+                final Promise<T> outstandingPromise = outstandingIterator.next();
+                if (outstandingPromise.isCancelled() && !outstandingPromise.isDone()) {
+                    outstandingIterator.remove();
+                }
+            }
+        }
+
+        private void drainWaiters() {
+            Promise<T> waiter;
+            while (!bufferedPromises.isEmpty() && (waiter = waiters.poll()) != null) {
+                if (waiter.isCancelled()) {
+                    continue;
+                }
+
+                final Promise<T> promise = bufferedPromises.poll();
+                if (promise.isSuccessful()) {
+                    waiter.set(promise.get());
+                } else {
+                    waiter.setError(promise.getError());
+                }
+                if (waiter.isCancelled() && !waiter.isDone()) {
+                    bufferedPromises.offerFirst(promise);
+                }
+            }
+        }
+
+        private void drainPromises() {
+            try {
+                while (iteratorError == null && bufferedPromises.size() + outstandingPromises.size() < capacity && iterator.hasNext()) {
+                    final Promise<T> promise = iterator.next();
+                    outstandingPromises.add(promise);
+                    promise.then(scheduler, completionAction);
+                }
+            } catch (RuntimeException e) {
+                iteratorError = e;
+            }
+        }
+
+        private void drainEnd(Throwable error) {
+            Promise<T> waiter;
+            while ((waiter = waiters.poll()) != null) {
+                waiter.setError(error);
+            }
+        }
+
+        private void drainCancel() {
+            for (Promise<T> promise : outstandingPromises) {
+                if (!promise.isDone() && !promise.isCancelled()) {
+                    promise.cancel();
+                }
+            }
+            outstandingPromises.clear();
+            bufferedPromises.clear();
+            completions.clear();
+
+            Promise<T> waiter;
+            while ((waiter = waiters.poll()) != null) {
+                if (!waiter.isCancelled()) {
+                    waiter.cancel();
+                }
+            }
+        }
+    }
+
+    private static final class AwaitContext {
+        private final Set<Promise<?>> registeredPromises = Collections.newSetFromMap(new ConcurrentHashMap<Promise<?>, Boolean>());
+        private final Thread awaitThread;
+
+        private AwaitContext(Thread awaitThread) {
+            this.awaitThread = awaitThread;
+        }
+
+        private List<Integer> await(long timeout, TimeUnit unit, Promise<?>[] promises, int count) throws InterruptedException {
+            for (Promise<?> promise : promises) {
+                if (registeredPromises.add(promise)) {
+                    ((Promise<Object>) promise).then(INLINE_SCHEDULER, new AwaitAction(this, promise));
+                }
+            }
+
+            final long deadlineNanos = System.nanoTime() + unit.toNanos(timeout);
+            while (countSettled(promises) < count) {
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+
+                final long remainingNanos = deadlineNanos - System.nanoTime();
+                if (remainingNanos <= 0) {
+                    break;
+                }
+
+                LockSupport.parkNanos(this, remainingNanos);
+            }
+
+            final List<Integer> indices = new ArrayList<Integer>();
+            for (int index = 0; index < promises.length; index++) {
+                if (promises[index].isDone() || promises[index].isCancelled()) {
+                    indices.add(index);
+                }
+            }
+
+            return indices;
+        }
+
+        private void onSettle(Promise<?> promise) {
+            registeredPromises.remove(promise);
+
+            LockSupport.unpark(awaitThread);
+        }
+
+        private static int countSettled(Promise<?>[] promises) {
+            int settledCount = 0;
+            for (Promise<?> promise : promises) {
+                if (promise.isDone() || promise.isCancelled()) {
+                    settledCount++;
+                }
+            }
+
+            return settledCount;
+        }
+    }
+
+    private static final class AwaitAction implements Action<Object> {
+        private final AwaitContext awaitContext;
+        private final Promise<?> promise;
+
+        private AwaitAction(AwaitContext awaitContext, Promise<?> promise) {
+            this.awaitContext = awaitContext;
+            this.promise = promise;
+        }
+
+        @Override
+        public void call(Promise<Object> completedPromise) {
+            awaitContext.onSettle(promise);
+        }
+
+        @Override
+        public void cancel() {
+            awaitContext.onSettle(promise);
+        }
+    }
+
+    private static final class HedgeContext<T> implements Runnable {
+        private final AtomicBoolean decisionFlag = new AtomicBoolean(false);
+        private final AtomicInteger pendingCounter = new AtomicInteger(1);
+        private final AtomicReference<Throwable> errorReference = new AtomicReference<Throwable>(null);
+        private final Promise<T> hedgedPromise = Promises.promise();
+        private final Scheduler scheduler;
+        private final Supplier<Promise<T>> supplier;
+        private final HedgePolicy policy;
+
+        private volatile Promise<T> primaryPromise;
+        private volatile Promise<T> secondaryPromise;
+        private volatile long primaryStartNanos;
+        private volatile long secondaryStartNanos;
+        private volatile ScheduledFuture<?> timerFuture;
+
+        private HedgeContext(Scheduler scheduler, Supplier<Promise<T>> supplier, HedgePolicy policy) {
+            this.scheduler = scheduler;
+            this.supplier = supplier;
+            this.policy = policy;
+        }
+
+        private Promise<T> start() {
+            policy.onRequest();
+            hedgedPromise.then(scheduler, new Action<T>() {
+                @Override
+                public void call(Promise<T> promise) {
+                    // Do Nothing.
+                }
+
+                @Override
+                public void cancel() {
+                    if (decisionFlag.compareAndSet(false, true)) {
+                        finish(null);
+                    }
+                }
+            });
+
+            primaryStartNanos = System.nanoTime();
+            primaryPromise = attempt();
+            if (!decisionFlag.get()) {
+                timerFuture = policy.getTimerService().schedule(this, policy.getHedgeDelayNanos(), TimeUnit.NANOSECONDS);
+                if (decisionFlag.get()) {
+                    timerFuture.cancel(false);
+                }
+            }
+
+            return hedgedPromise;
+        }
+
+        @Override
+        public void run() {
+            pendingCounter.incrementAndGet();
+            if (decisionFlag.get() || !policy.tryHedge()) {
+                onLoss();
+                return;
+            }
+
+            secondaryStartNanos = System.nanoTime();
+            secondaryPromise = attempt();
+            if (decisionFlag.get()) {
+                cancelAttempt(secondaryPromise);
+            }
+        }
+
+        private Promise<T> attempt() {
+            final Promise<T> attemptPromise;
+            try {
+                attemptPromise = supplier.get();
+            } catch (RuntimeException e) {
+                errorReference.set(e);
+                onLoss();
+                return null;
+            }
+
+            attemptPromise.then(scheduler, new Action<T>() {
+                @Override
+                public void call(Promise<T> promise) {
+                    if (!promise.isSuccessful()) {
+                        errorReference.set(promise.getError());
+                        onLoss();
+                        return;
+                    }
+
+                    if (decisionFlag.compareAndSet(false, true)) {
+                        policy.onLatency(System.nanoTime() - primaryStartNanos);
+                        finish(promise);
+                        hedgedPromise.set(promise.get());
+                    }
+                }
+
+                @Override
+                public void cancel() {
+                    onLoss();
+                }
+            });
+
+            return attemptPromise;
+        }
+
+        private void onLoss() {
+            if (pendingCounter.decrementAndGet() == 0 && decisionFlag.compareAndSet(false, true)) {
+                finish(null);
+
+                final Throwable error = errorReference.get();
+                if (error != null) {
+                    hedgedPromise.setError(error);
+                } else {
+                    hedgedPromise.cancel();
+                }
+            }
+        }
+
+        private void finish(Promise<T> winnerPromise) {
+            final ScheduledFuture<?> currentTimerFuture = timerFuture;
+            if (currentTimerFuture != null) {
+                currentTimerFuture.cancel(false);
+            }
+            if (primaryPromise != winnerPromise) {
+                cancelAttempt(primaryPromise);
+            }
+            // The elapsed time of a losing first attempt is the latency of the request, which is already observed.
+            if (secondaryPromise != winnerPromise && cancelAttempt(secondaryPromise) && winnerPromise != null) {
+                policy.onLatency(System.nanoTime() - secondaryStartNanos);
+            }
+        }
+
+        private static boolean cancelAttempt(Promise<?> attemptPromise) {
+            if (attemptPromise != null && !attemptPromise.isDone() && !attemptPromise.isCancelled()) {
+                attemptPromise.cancel();
+                return true;
+            }
+
+            return false;
+        }
+    }
+
+    private static final class Completion<U> {
+        private final int index;
+        private final Promise<U> promise;
+
+        private Completion(int index, Promise<U> promise) {
+            this.index = index;
+            this.promise = promise;
+        }
+    }
+
+    private static final class ParallelMapContext<T, U> {
+        private final AtomicInteger remainingCounter;
+        private final Promise<List<U>> parallelPromise = Promises.promise();
+        private final Scheduler scheduler;
+        private final List<T> elements;
+        private final Mapper<T, U> mapper;
+        private final int grainSize;
+        private final Object[] values;
+
+        private ParallelMapContext(Scheduler scheduler, List<T> elements, Mapper<T, U> mapper, int grainSize) {
+            this.remainingCounter = new AtomicInteger(elements.size());
+            this.scheduler = scheduler;
+            this.elements = elements;
+            this.mapper = mapper;
+            this.grainSize = grainSize;
+            this.values = new Object[elements.size()];
+        }
+
+        private Promise<List<U>> start() {
+            if (values.length == 0) {
+                parallelPromise.set(Collections.<U>emptyList());
+            } else {
+                fork(0, values.length);
+            }
+
+            return parallelPromise;
+        }
+
+        private void fork(final int fromIndex, final int toIndex) {
+            try {
+                scheduler.schedule(new Action<List<U>>() {
+                    @Override
+                    public void call(Promise<List<U>> promise) {
+                        compute(fromIndex, toIndex);
+                    }
+
+                    @Override
+                    public void cancel() {
+                        // Do Nothing.
+                    }
+                }, parallelPromise);
+            } catch (RuntimeException e) {
+                fail(e);
+            }
+        }
+
+        private void compute(int fromIndex, int toIndex) {
+            if (isSettled()) {
+                return;
+            }
+
+            while (toIndex - fromIndex > grainSize) {
+                final int middleIndex = (fromIndex + toIndex) >>> 1;
+                fork(middleIndex, toIndex);
+                toIndex = middleIndex;
+                if (isSettled()) {
+                    return;
+                }
+            }
+
+            try {
+                for (int index = fromIndex; index < toIndex; index++) {
+                    values[index] = mapper.map(elements.get(index));
+                }
+            } catch (RuntimeException e) {
+                fail(e);
+                return;
+            }
+
+            if (remainingCounter.addAndGet(fromIndex - toIndex) == 0) {
+                synchronized (this) {
+                    if (!parallelPromise.isDone()) {
+                        parallelPromise.set(Arrays.asList((U[]) values));
+                    }
+                }
+            }
+        }
+
+        private boolean isSettled() {
+            return parallelPromise.isDone() || parallelPromise.isCancelled();
+        }
+
+        private void fail(RuntimeException e) {
+            synchronized (this) {
+                if (!parallelPromise.isDone()) {
+                    parallelPromise.setError(e);
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,41 @@
+package com.github.jparkie.promise.extras;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Container of the partial results of a scatter-gather over multiple promises.
+ * Each result is keyed by the index of its promise.
+ * @param <T> The type of the values gathered.
+ */
+public final class GatherResult<T> {
+    public final Map<Integer, T> successes;
+    public final Map<Integer, Throwable> failures;
+    public final List<Integer> pending;
+
+    /**
+     * Constructor for a GatherResult.
+     *
+     * @param successes the values of the successful promises by index
+     * @param failures the errors of the failed promises by index
+     * @param pending the indices of the promises which did not complete
+     */
+    public GatherResult(Map<Integer, T> successes, Map<Integer, Throwable> failures, List<Integer> pending) {
+        this.successes = successes;
+        this.failures = failures;
+        this.pending = pending;
+    }
+
+    /**
+     * Returns whether every promise completed before the gather.
+     * @return If no promise is pending, true, else, false.
+     */
+    public boolean isComplete() {
+        return pending.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "GatherResult{successes=" + successes + ", failures=" + failures + ", pending=" + pending + "}";
+    }
+}
@@ -0,0 +1,101 @@
+package com.github.jparkie.promise.extras;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A policy of when to hedge a request with a second attempt.
+ *
+ * The hedge delay is the live percentile of the observed latencies; until enough latencies are observed,
+ * the initial delay is used. The hedges are capped by a token bucket: each request earns maxHedgeRatio
+ * of a token and each hedge spends one token, so the hedges never exceed maxHedgeRatio of the requests
+ * beyond a small burst.
+ *
+ * A policy is thread-safe and should be shared by all the requests to the same backend.
+ */
+public final class HedgePolicy {
+    private static final long TOKEN_SCALE = 1000L;
+    private static final long MAXIMUM_TOKENS = 10L * TOKEN_SCALE;
+    private static final int MINIMUM_SAMPLES = 20;
+
+    private final AtomicLong tokens = new AtomicLong(0);
+    private final LatencyHistogram latencyHistogram = new LatencyHistogram(60, TimeUnit.SECONDS, 6);
+    private final ScheduledExecutorService timerService;
+    private final double percentile;
+    private final long tokensPerRequest;
+    private final long initialDelayNanos;
+
+    /**
+     * Constructor for a HedgePolicy.
+     *
+     * @param timerService the executor which starts the hedges
+     * @param percentile the percentile of the latencies after which to hedge, between 0.0 and 1.0
+     * @param maxHedgeRatio the maximum ratio of hedges to requests, between 0.0 and 1.0
+     * @param initialDelay the delay after which to hedge until enough latencies are observed
+     * @param unit the unit of the initial delay
+     */
+    public HedgePolicy(ScheduledExecutorService timerService, double percentile, double maxHedgeRatio, long initialDelay, TimeUnit unit) {
+        if (percentile <= 0.0 || percentile > 1.0) {
+            throw new IllegalArgumentException("percentile must be between 0.0 and 1.0: " + percentile);
+        }
+        if (maxHedgeRatio < 0.0 || maxHedgeRatio > 1.0) {
+            throw new IllegalArgumentException("maxHedgeRatio must be between 0.0 and 1.0: " + maxHedgeRatio);
+        }
+
+        this.timerService = timerService;
+        this.percentile = percentile;
+        this.tokensPerRequest = (long) (maxHedgeRatio * TOKEN_SCALE);
+        this.initialDelayNanos = unit.toNanos(initialDelay);
+    }
+
+    /**
+     * Returns the histogram of the latencies observed by the policy.
+     * @return The histogram of the latencies.
+     */
+    public LatencyHistogram getLatencyHistogram() {
+        return latencyHistogram;
+    }
+
+    /**
+     * Returns the current delay after which to hedge.
+     * @return The delay in nanoseconds.
+     */
+    public long getHedgeDelayNanos() {
+        if (latencyHistogram.count() < MINIMUM_SAMPLES) {
+            return initialDelayNanos;
+        }
+
+        return latencyHistogram.percentile(percentile);
+    }
+
+    ScheduledExecutorService getTimerService() {
+        return timerService;
+    }
+
+    void onRequest() {
+        long currentTokens;
+        do {
+            currentTokens = tokens.get();
+            if (currentTokens >= MAXIMUM_TOKENS) {
+                return;
+            }
+        } while (!tokens.compareAndSet(currentTokens, Math.min(MAXIMUM_TOKENS, currentTokens + tokensPerRequest)));
+    }
+
+    boolean tryHedge() {
+        long currentTokens;
+        do {
+            currentTokens = tokens.get();
+            if (currentTokens < TOKEN_SCALE) {
+                return false;
+            }
+        } while (!tokens.compareAndSet(currentTokens, currentTokens - TOKEN_SCALE));
+
+        return true;
+    }
+
+    void onLatency(long latencyNanos) {
+        latencyHistogram.record(latencyNanos);
+    }
+}
@@ -0,0 +1,145 @@
+package com.github.jparkie.promise.extras;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock-free histogram of latencies over a sliding window.
+ *
+ * Latencies are counted into logarithmic buckets, four per power of two, so a percentile is estimated
+ * within 25% of its value. The window is a ring of intervals; the oldest interval is cleared
+ * as the window slides, so percentiles follow the recent latencies.
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 2;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray counts;
+    private final AtomicLong[] intervalEpochs;
+    private final long originNanos = System.nanoTime();
+    private final long intervalNanos;
+    private final int intervalCount;
+
+    /**
+     * Constructor for a LatencyHistogram.
+     *
+     * @param window the duration of the sliding window
+     * @param unit the unit of the window
+     * @param intervalCount the number of intervals in which the window slides
+     */
+    public LatencyHistogram(long window, TimeUnit unit, int intervalCount) {
+        if (intervalCount < 1) {
+            throw new IllegalArgumentException("intervalCount must be positive: " + intervalCount);
+        }
+
+        this.counts = new AtomicLongArray(BUCKET_COUNT * intervalCount);
+        this.intervalEpochs = new AtomicLong[intervalCount];
+        for (int index = 0; index < intervalCount; index++) {
+            intervalEpochs[index] = new AtomicLong(-1);
+        }
+        this.intervalNanos = Math.max(1, unit.toNanos(window) / intervalCount);
+        this.intervalCount = intervalCount;
+    }
+
+    /**
+     * Records a latency.
+     * @param latencyNanos The latency in nanoseconds.
+     */
+    public void record(long latencyNanos) {
+        final long epoch = currentEpoch();
+        final int interval = (int) (epoch % intervalCount);
+        final AtomicLong intervalEpoch = intervalEpochs[interval];
+        final long currentEpoch = intervalEpoch.get();
+        if (currentEpoch != epoch && intervalEpoch.compareAndSet(currentEpoch, epoch)) {
+            for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+                counts.set(interval * BUCKET_COUNT + bucket, 0);
+            }
+        }
+
+        counts.incrementAndGet(interval * BUCKET_COUNT + bucketOf(Math.max(1, latencyNanos)));
+    }
+
+    /**
+     * Returns the number of latencies recorded within the window.
+     * @return The number of latencies.
+     */
+    public long count() {
+        final long epoch = currentEpoch();
+        long count = 0;
+        for (int interval = 0; interval < intervalCount; interval++) {
+            if (isLive(interval, epoch)) {
+                for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+                    count += counts.get(interval * BUCKET_COUNT + bucket);
+                }
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Returns the estimated latency at the percentile within the window.
+     * @param percentile The percentile between 0.0 and 1.0.
+     * @return The estimated latency in nanoseconds, or 0 if no latency is recorded.
+     */
+    public long percentile(double percentile) {
+        final long epoch = currentEpoch();
+        final long[] bucketCounts = new long[BUCKET_COUNT];
+        long count = 0;
+        for (int interval = 0; interval < intervalCount; interval++) {
+            if (isLive(interval, epoch)) {
+                for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+                    final long bucketCount = counts.get(interval * BUCKET_COUNT + bucket);
+                    bucketCounts[bucket] += bucketCount;
+                    count += bucketCount;
+                }
+            }
+        }
+        if (count == 0) {
+            return 0;
+        }
+
+        final long rank = Math.max(1, (long) Math.ceil(percentile * count));
+        long cumulativeCount = 0;
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            cumulativeCount += bucketCounts[bucket];
+            if (cumulativeCount >= rank) {
+                return upperBoundOf(bucket);
+            }
+        }
+
+        return upperBoundOf(BUCKET_COUNT - 1);
+    }
+
+    private long currentEpoch() {
+        return (System.nanoTime() - originNanos) / intervalNanos;
+    }
+
+    private boolean isLive(int interval, long epoch) {
+        final long intervalEpoch = intervalEpochs[interval].get();
+        return intervalEpoch >= 0 && epoch - intervalEpoch < intervalCount;
+    }
+
+    private static int bucketOf(long value) {
+        final int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        if (magnitude < SUB_BUCKET_BITS) {
+            return (int) value;
+        }
+
+        final int subBucket = (int) (value >>> (magnitude - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+        return (magnitude - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    private static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKET_COUNT) {
+            return bucket;
+        }
+
+        final int magnitude = bucket / SUB_BUCKET_COUNT + SUB_BUCKET_BITS - 1;
+        final long subBucket = bucket % SUB_BUCKET_COUNT;
+        final long lowerBound = (SUB_BUCKET_COUNT + subBucket) << (magnitude - SUB_BUCKET_BITS);
+        return lowerBound + (1L << (magnitude - SUB_BUCKET_BITS)) - 1;
+    }
+}
@@ -0,0 +1,15 @@
+package com.github.jparkie.promise.extras;
+
+/**
+ * A mapper to transform a value into a new value.
+ * @param <T> The old type of value.
+ * @param <U> The new type of value.
+ */
+public interface Mapper<T, U> {
+    /**
+     * Transforms an existing value into a new value.
+     * @param value The existing value to transform.
+     * @return The transformed value.
+     */
+    U map(T value);
+}
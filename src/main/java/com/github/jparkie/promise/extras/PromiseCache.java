@@ -0,0 +1,428 @@
+package com.github.jparkie.promise.extras;
+
+import com.github.jparkie.promise.Action;
+import com.github.jparkie.promise.Promise;
+import com.github.jparkie.promise.Promises;
+import com.github.jparkie.promise.Scheduler;
+import com.github.jparkie.promise.Schedulers;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * An asynchronous loading cache of promises.
+ *
+ * Concurrent requests of the same key share a single in-flight or completed promise. Failed or cancelled
+ * promises are evicted immediately, so the next request loads again.
+ *
+ * Lookups are lock-free. The eviction policy is a segmented LRU striped across segments: a new entry
+ * enters the probation segment and is promoted to the protected segment upon its next hit.
+ * Reordering upon a hit is skipped while its stripe is contended.
+ *
+ * An entry expires the specified duration after its load completed. An entry older than the specified
+ * refresh duration is reloaded upon its next hit while the current value is still returned.
+ * @param <K> The type of the keys.
+ * @param <V> The type of the value promised to be available now, or in the future, or never.
+ */
+public final class PromiseCache<K, V> {
+    private static final Scheduler INLINE_SCHEDULER = Schedulers.newSimpleScheduler();
+    private static final int MAXIMUM_SEGMENTS = 64;
+
+    private final ConcurrentHashMap<K, Entry<K, V>> entries = new ConcurrentHashMap<K, Entry<K, V>>();
+    private final Loader<K, V> loader;
+    private final Segment<K, V>[] segments;
+    private final long expireNanos;
+    private final long refreshNanos;
+
+    /**
+     * Constructor for a PromiseCache which neither expires nor refreshes.
+     *
+     * @param loader the loader of the promise of a key
+     * @param maximumSize the maximum number of entries
+     */
+    public PromiseCache(Loader<K, V> loader, int maximumSize) {
+        this(loader, maximumSize, 0, 0, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Constructor for a PromiseCache.
+     *
+     * @param loader the loader of the promise of a key
+     * @param maximumSize the maximum number of entries
+     * @param expireAfterWrite the duration after which an entry expires, or 0 to never expire
+     * @param refreshAfterWrite the duration after which an entry is refreshed upon a hit, or 0 to never refresh
+     * @param unit the unit of the durations
+     */
+    @SuppressWarnings("unchecked")
+    public PromiseCache(Loader<K, V> loader, int maximumSize, long expireAfterWrite, long refreshAfterWrite, TimeUnit unit) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("maximumSize must be positive: " + maximumSize);
+        }
+        if (expireAfterWrite < 0 || refreshAfterWrite < 0) {
+            throw new IllegalArgumentException("durations must not be negative");
+        }
+
+        int segmentCount = 1;
+        while (segmentCount < MAXIMUM_SEGMENTS && segmentCount < 4 * Runtime.getRuntime().availableProcessors() && 2 * segmentCount <= maximumSize) {
+            segmentCount <<= 1;
+        }
+
+        this.loader = loader;
+        this.segments = (Segment<K, V>[]) new Segment<?, ?>[segmentCount];
+        for (int index = 0; index < segmentCount; index++) {
+            final int capacity = maximumSize / segmentCount + (index < maximumSize % segmentCount ? 1 : 0);
+            segments[index] = new Segment<K, V>(capacity);
+        }
+        this.expireNanos = unit.toNanos(expireAfterWrite);
+        this.refreshNanos = unit.toNanos(refreshAfterWrite);
+    }
+
+    /**
+     * Returns the promise of the key, loading it if absent, expired, failed, or cancelled.
+     * @param key The key to look up.
+     * @return The in-flight or completed promise of the key.
+     */
+    public Promise<V> get(K key) {
+        final Segment<K, V> segment = segmentFor(key);
+        final long currentNanos = System.nanoTime();
+        while (true) {
+            final Entry<K, V> entry = entries.get(key);
+            if (entry == null) {
+                final Entry<K, V> newEntry = new Entry<K, V>(key, currentNanos);
+                if (entries.putIfAbsent(key, newEntry) != null) {
+                    continue;
+                }
+
+                segment.missCounter.incrementAndGet();
+                segment.add(this, newEntry);
+                load(segment, newEntry, currentNanos);
+                return newEntry.promise;
+            }
+            if (!isValid(entry, currentNanos)) {
+                remove(segment, entry);
+                continue;
+            }
+
+            segment.hitCounter.incrementAndGet();
+            segment.recordAccess(entry);
+            if (refreshNanos > 0 && entry.promise.isDone() && currentNanos - entry.writeNanos > refreshNanos) {
+                refresh(segment, entry, currentNanos);
+            }
+            return entry.promise;
+        }
+    }
+
+    /**
+     * Returns the promise of the key if present and valid, without loading it.
+     * @param key The key to look up.
+     * @return The in-flight or completed promise of the key, or null.
+     */
+    public Promise<V> getIfPresent(K key) {
+        final Segment<K, V> segment = segmentFor(key);
+        final Entry<K, V> entry = entries.get(key);
+        if (entry == null || !isValid(entry, System.nanoTime())) {
+            segment.missCounter.incrementAndGet();
+            return null;
+        }
+
+        segment.hitCounter.incrementAndGet();
+        segment.recordAccess(entry);
+        return entry.promise;
+    }
+
+    /**
+     * Discards the entry of the key. An in-flight load is not cancelled.
+     * @param key The key to discard.
+     */
+    public void invalidate(K key) {
+        final Entry<K, V> entry = entries.get(key);
+        if (entry != null) {
+            remove(segmentFor(key), entry);
+        }
+    }
+
+    /**
+     * Returns the number of entries, including in-flight loads.
+     * @return The number of entries.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Returns a snapshot of the statistics of the cache.
+     * @return The statistics of the cache.
+     */
+    public Stats stats() {
+        long hitCount = 0;
+        long missCount = 0;
+        long loadSuccessCount = 0;
+        long loadFailureCount = 0;
+        long totalLoadNanos = 0;
+        long evictionCount = 0;
+        for (Segment<K, V> segment : segments) {
+            hitCount += segment.hitCounter.get();
+            missCount += segment.missCounter.get();
+            loadSuccessCount += segment.loadSuccessCounter.get();
+            loadFailureCount += segment.loadFailureCounter.get();
+            totalLoadNanos += segment.totalLoadNanos.get();
+            evictionCount += segment.evictionCounter.get();
+        }
+
+        return new Stats(hitCount, missCount, loadSuccessCount, loadFailureCount, totalLoadNanos, evictionCount);
+    }
+
+    private boolean isValid(Entry<K, V> entry, long currentNanos) {
+        final Promise<V> promise = entry.promise;
+        if (promise.isCancelled() && !promise.isDone()) {
+            return false;
+        }
+        if (promise.isDone() && !promise.isSuccessful()) {
+            return false;
+        }
+
+        return expireNanos == 0 || !promise.isDone() || currentNanos - entry.writeNanos <= expireNanos;
+    }
+
+    private void load(final Segment<K, V> segment, final Entry<K, V> entry, final long startNanos) {
+        final Promise<V> loadedPromise;
+        try {
+            loadedPromise = loader.load(entry.key);
+        } catch (RuntimeException e) {
+            segment.loadFailureCounter.incrementAndGet();
+            remove(segment, entry);
+            entry.promise.setError(e);
+            return;
+        }
+
+        loadedPromise.then(INLINE_SCHEDULER, new Action<V>() {
+            @Override
+            public void call(Promise<V> promise) {
+                final long currentNanos = System.nanoTime();
+                segment.totalLoadNanos.addAndGet(currentNanos - startNanos);
+                if (promise.isSuccessful()) {
+                    segment.loadSuccessCounter.incrementAndGet();
+                    entry.writeNanos = currentNanos;
+                    entry.promise.set(promise.get());
+                } else {
+                    segment.loadFailureCounter.incrementAndGet();
+                    remove(segment, entry);
+                    entry.promise.setError(promise.getError());
+                }
+            }
+
+            @Override
+            public void cancel() {
+                remove(segment, entry);
+                if (!entry.promise.isCancelled()) {
+                    entry.promise.cancel();
+                }
+            }
+        });
+    }
+
+    private void refresh(final Segment<K, V> segment, final Entry<K, V> entry, final long startNanos) {
+        if (!entry.refreshFlag.compareAndSet(false, true)) {
+            return;
+        }
+
+        final Promise<V> loadedPromise;
+        try {
+            loadedPromise = loader.load(entry.key);
+        } catch (RuntimeException e) {
+            segment.loadFailureCounter.incrementAndGet();
+            entry.refreshFlag.set(false);
+            return;
+        }
+
+        loadedPromise.then(INLINE_SCHEDULER, new Action<V>() {
+            @Override
+            public void call(Promise<V> promise) {
+                final long currentNanos = System.nanoTime();
+                segment.totalLoadNanos.addAndGet(currentNanos - startNanos);
+                if (promise.isSuccessful()) {
+                    segment.loadSuccessCounter.incrementAndGet();
+                    entry.promise = Promises.value(promise.get());
+                    entry.writeNanos = currentNanos;
+                } else {
+                    segment.loadFailureCounter.incrementAndGet();
+                }
+                entry.refreshFlag.set(false);
+            }
+
+            @Override
+            public void cancel() {
+                entry.refreshFlag.set(false);
+            }
+        });
+    }
+
+    private void remove(Segment<K, V> segment, Entry<K, V> entry) {
+        if (entries.remove(entry.key, entry)) {
+            segment.remove(entry);
+        }
+    }
+
+    private Segment<K, V> segmentFor(K key) {
+        int hash = key.hashCode();
+        hash ^= (hash >>> 20) ^ (hash >>> 12);
+        hash ^= (hash >>> 7) ^ (hash >>> 4);
+        return segments[hash & (segments.length - 1)];
+    }
+
+    /**
+     * A loader of the promise of a key.
+     * @param <K> The type of the keys.
+     * @param <V> The type of the value promised to be available now, or in the future, or never.
+     */
+    public interface Loader<K, V> {
+        /**
+         * Starts the loading of the value of the key.
+         * @param key The key to load.
+         * @return The promise of the value of the key.
+         */
+        Promise<V> load(K key);
+    }
+
+    /**
+     * A snapshot of the statistics of a {@link PromiseCache}.
+     */
+    public static final class Stats {
+        public final long hitCount;
+        public final long missCount;
+        public final long loadSuccessCount;
+        public final long loadFailureCount;
+        public final long totalLoadNanos;
+        public final long evictionCount;
+
+        private Stats(long hitCount, long missCount, long loadSuccessCount, long loadFailureCount, long totalLoadNanos, long evictionCount) {
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.loadSuccessCount = loadSuccessCount;
+            this.loadFailureCount = loadFailureCount;
+            this.totalLoadNanos = totalLoadNanos;
+            this.evictionCount = evictionCount;
+        }
+
+        /**
+         * Returns the ratio of lookups which hit.
+         * @return The hit rate, or 1.0 if there were no lookups.
+         */
+        public double hitRate() {
+            final long requestCount = hitCount + missCount;
+            return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+        }
+
+        /**
+         * Returns the average duration of a completed load.
+         * @return The average load latency in nanoseconds, or 0.0 if there were no loads.
+         */
+        public double averageLoadNanos() {
+            final long loadCount = loadSuccessCount + loadFailureCount;
+            return loadCount == 0 ? 0.0 : (double) totalLoadNanos / loadCount;
+        }
+
+        @Override
+        public String toString() {
+            return "Stats{hitCount=" + hitCount + ", missCount=" + missCount +
+                    ", loadSuccessCount=" + loadSuccessCount + ", loadFailureCount=" + loadFailureCount +
+                    ", totalLoadNanos=" + totalLoadNanos + ", evictionCount=" + evictionCount + "}";
+        }
+    }
+
+    private static final class Entry<K, V> {
+        private final K key;
+        private final AtomicBoolean refreshFlag = new AtomicBoolean(false);
+
+        private volatile Promise<V> promise = Promises.promise();
+        private volatile long writeNanos;
+
+        private Entry(K key, long writeNanos) {
+            this.key = key;
+            this.writeNanos = writeNanos;
+        }
+    }
+
+    private static final class Segment<K, V> {
+        private final ReentrantLock segmentLock = new ReentrantLock();
+        private final LinkedHashMap<K, Entry<K, V>> probationEntries = new LinkedHashMap<K, Entry<K, V>>();
+        private final LinkedHashMap<K, Entry<K, V>> protectedEntries = new LinkedHashMap<K, Entry<K, V>>();
+        private final AtomicLong hitCounter = new AtomicLong(0);
+        private final AtomicLong missCounter = new AtomicLong(0);
+        private final AtomicLong loadSuccessCounter = new AtomicLong(0);
+        private final AtomicLong loadFailureCounter = new AtomicLong(0);
+        private final AtomicLong totalLoadNanos = new AtomicLong(0);
+        private final AtomicLong evictionCounter = new AtomicLong(0);
+        private final int capacity;
+        private final int protectedCapacity;
+
+        private Segment(int capacity) {
+            this.capacity = capacity;
+            this.protectedCapacity = (int) (capacity * 0.8);
+        }
+
+        private void add(PromiseCache<K, V> cache, Entry<K, V> entry) {
+            segmentLock.lock();
+            try {
+                if (cache.entries.get(entry.key) != entry) {
+                    return;
+                }
+
+                probationEntries.put(entry.key, entry);
+                while (probationEntries.size() + protectedEntries.size() > capacity) {
+                    final LinkedHashMap<K, Entry<K, V>> victimEntries = probationEntries.isEmpty() ? protectedEntries : probationEntries;
+                    final Iterator<Entry<K, V>> victimIterator = victimEntries.values().iterator();
+                    final Entry<K, V> victimEntry = victimIterator.next();
+                    victimIterator.remove();
+                    if (cache.entries.remove(victimEntry.key, victimEntry)) {
+                        evictionCounter.incrementAndGet();
+                    }
+                }
+            } finally {
+                segmentLock.unlock();
+            }
+        }
+
+        private void recordAccess(Entry<K, V> entry) {
+            if (!segmentLock.tryLock()) {
+                return;
+            }
+
+            try {
+                if (probationEntries.get(entry.key) == entry) {
+                    probationEntries.remove(entry.key);
+                    protectedEntries.put(entry.key, entry);
+                    if (protectedEntries.size() > protectedCapacity) {
+                        final Iterator<Entry<K, V>> demoteIterator = protectedEntries.values().iterator();
+                        final Entry<K, V> demoteEntry = demoteIterator.next();
+                        demoteIterator.remove();
+                        probationEntries.put(demoteEntry.key, demoteEntry);
+                    }
+                } else if (protectedEntries.get(entry.key) == entry) {
+                    protectedEntries.remove(entry.key);
+                    protectedEntries.put(entry.key, entry);
+                }
+            } finally {
+                segmentLock.unlock();
+            }
+        }
+
+        private void remove(Entry<K, V> entry) {
+            segmentLock.lock();
+            try {
+                if (probationEntries.get(entry.key) == entry) {
+                    probationEntries.remove(entry.key);
+                } else if (protectedEntries.get(entry.key) == entry) {
+                    protectedEntries.remove(entry.key);
+                }
+            } finally {
+                segmentLock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.github.jparkie.promise.extras;
+
+import com.github.jparkie.promise.Promise;
+import com.github.jparkie.promise.failures.Failures;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * A {@link Future} view of a {@link Promise}.
+ *
+ * The view awaits with a {@link SpinAwaiter}. The cancellation of the view cancels the promise.
+ * @param <T> The type of the value promised to be available now, or in the future, or never.
+ */
+public final class PromiseFuture<T> implements Future<T> {
+    private final Promise<T> promise;
+    private final SpinAwaiter awaiter;
+
+    /**
+     * Constructor for a PromiseFuture which awaits with the default awaiter.
+     *
+     * @param promise the promise to view
+     */
+    public PromiseFuture(Promise<T> promise) {
+        this(promise, SpinAwaiter.getDefault());
+    }
+
+    /**
+     * Constructor for a PromiseFuture.
+     *
+     * @param promise the promise to view
+     * @param awaiter the strategy to await the promise
+     */
+    public PromiseFuture(Promise<T> promise, SpinAwaiter awaiter) {
+        this.promise = promise;
+        this.awaiter = awaiter;
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        if (promise.isDone() || promise.isCancelled()) {
+            return false;
+        }
+
+        promise.cancel();
+        return true;
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return promise.isCancelled() && !promise.isDone();
+    }
+
+    @Override
+    public boolean isDone() {
+        return promise.isDone() || promise.isCancelled();
+    }
+
+    @Override
+    public T get() throws InterruptedException, ExecutionException {
+        awaiter.await(promise);
+
+        return report();
+    }
+
+    @Override
+    public T get(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+        if (!awaiter.await(promise, timeout, unit)) {
+            throw Failures.timeout();
+        }
+
+        return report();
+    }
+
+    private T report() throws ExecutionException {
+        if (isCancelled()) {
+            throw Failures.cancellation();
+        }
+        if (!promise.isSuccessful()) {
+            throw new ExecutionException(promise.getError());
+        }
+
+        return promise.get();
+    }
+}
@@ -0,0 +1,124 @@
+package com.github.jparkie.promise.extras;
+
+import com.github.jparkie.promise.Promise;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An await strategy which spins, then yields, then parks upon a {@link Promise}.
+ *
+ * The spin budget adapts to the recently observed completion times: completions which arrive
+ * within a few microseconds grow the budget up to its maximum, and long waits shrink it to zero,
+ * so long waits park immediately without burning CPU.
+ *
+ * The awaiter is thread-safe and may be shared by many awaiting threads.
+ */
+public final class SpinAwaiter {
+    private static final SpinAwaiter DEFAULT_AWAITER = new SpinAwaiter(TimeUnit.MICROSECONDS.toNanos(50));
+    private static final int SAMPLE_WEIGHT_SHIFT = 3;
+
+    private final long maxSpinNanos;
+
+    private volatile long averageWaitNanos;
+    private volatile long spinNanos;
+
+    /**
+     * Constructor for a SpinAwaiter.
+     *
+     * @param maxSpinNanos the maximum duration to spin and to yield before parking, in nanoseconds
+     */
+    public SpinAwaiter(long maxSpinNanos) {
+        if (maxSpinNanos < 0) {
+            throw new IllegalArgumentException("maxSpinNanos must not be negative: " + maxSpinNanos);
+        }
+
+        this.maxSpinNanos = maxSpinNanos;
+        this.averageWaitNanos = maxSpinNanos / 2;
+        this.spinNanos = maxSpinNanos;
+    }
+
+    /**
+     * Returns the awaiter shared by default, with a maximum spin of 50 microseconds.
+     * @return The default awaiter.
+     */
+    public static SpinAwaiter getDefault() {
+        return DEFAULT_AWAITER;
+    }
+
+    /**
+     * Returns the current spin budget.
+     * @return The current spin budget in nanoseconds.
+     */
+    public long getSpinNanos() {
+        return spinNanos;
+    }
+
+    /**
+     * Await the completion or the cancellation of the promise.
+     * @param promise The promise to await.
+     * @throws InterruptedException If the thread awaiting on the promise is interrupted,
+     * an exception is thrown.
+     */
+    public void await(Promise<?> promise) throws InterruptedException {
+        await(promise, Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Await the completion or the cancellation of the promise at most the time specified.
+     * @param promise The promise to await.
+     * @param timeout The duration at most to await.
+     * @param unit The unit of duration to await.
+     * @return If the promise completed or cancelled under the timeout, true, else, false.
+     * @throws InterruptedException If the thread awaiting on the promise is interrupted,
+     * an exception is thrown.
+     */
+    public boolean await(Promise<?> promise, long timeout, TimeUnit unit) throws InterruptedException {
+        if (isSettled(promise)) {
+            return true;
+        }
+
+        final long startNanos = System.nanoTime();
+        final long timeoutNanos = unit.toNanos(timeout);
+        final long spinBudgetNanos = Math.min(spinNanos, timeoutNanos);
+        final long spinDeadlineNanos = startNanos + spinBudgetNanos / 2;
+        final long yieldDeadlineNanos = startNanos + spinBudgetNanos;
+
+        long currentNanos;
+        while ((currentNanos = System.nanoTime()) - spinDeadlineNanos < 0) {
+            if (isSettled(promise)) {
+                observe(currentNanos - startNanos);
+                return true;
+            }
+        }
+        while ((currentNanos = System.nanoTime()) - yieldDeadlineNanos < 0) {
+            if (isSettled(promise)) {
+                observe(currentNanos - startNanos);
+                return true;
+            }
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+
+            Thread.yield();
+        }
+
+        final long remainingNanos = timeoutNanos - (System.nanoTime() - startNanos);
+        final boolean awaitFlag = remainingNanos > 0 && promise.await(remainingNanos, TimeUnit.NANOSECONDS);
+        if (awaitFlag) {
+            observe(System.nanoTime() - startNanos);
+        }
+
+        return awaitFlag || isSettled(promise);
+    }
+
+    private void observe(long waitNanos) {
+        final long average = averageWaitNanos;
+        final long nextAverage = average + ((Math.min(waitNanos, 4 * maxSpinNanos) - average) >> SAMPLE_WEIGHT_SHIFT);
+        averageWaitNanos = nextAverage;
+        spinNanos = nextAverage <= maxSpinNanos ? Math.min(maxSpinNanos, 2 * nextAverage) : 0;
+    }
+
+    private static boolean isSettled(Promise<?> promise) {
+        return promise.isDone() || promise.isCancelled();
+    }
+}
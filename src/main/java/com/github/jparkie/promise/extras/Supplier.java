@@ -0,0 +1,13 @@
+package com.github.jparkie.promise.extras;
+
+/**
+ * A supplier of values, such as new attempts of a request.
+ * @param <T> The type of the values supplied.
+ */
+public interface Supplier<T> {
+    /**
+     * Supplies a value.
+     * @return The value supplied.
+     */
+    T get();
+}
@@ -0,0 +1,17 @@
+package com.github.jparkie.promise.failures;
+
+/**
+ * The failure of an item offered to a closed channel.
+ */
+public final class ChannelClosedException extends IllegalStateException {
+    private static final long serialVersionUID = 1L;
+
+    ChannelClosedException() {
+        super("Channel is closed.");
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return Failures.isDebug() ? super.fillInStackTrace() : this;
+    }
+}
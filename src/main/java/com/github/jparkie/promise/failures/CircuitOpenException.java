@@ -0,0 +1,17 @@
+package com.github.jparkie.promise.failures;
+
+/**
+ * The failure of a call rejected by an open circuit breaker.
+ */
+public final class CircuitOpenException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    CircuitOpenException() {
+        super("Circuit breaker is open.");
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return Failures.isDebug() ? super.fillInStackTrace() : this;
+    }
+}
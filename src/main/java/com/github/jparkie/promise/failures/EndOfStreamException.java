@@ -0,0 +1,19 @@
+package com.github.jparkie.promise.failures;
+
+import java.util.NoSuchElementException;
+
+/**
+ * The failure which signals the end of an iteration.
+ */
+public final class EndOfStreamException extends NoSuchElementException {
+    private static final long serialVersionUID = 1L;
+
+    EndOfStreamException() {
+        super("Iteration has ended.");
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return Failures.isDebug() ? super.fillInStackTrace() : this;
+    }
+}
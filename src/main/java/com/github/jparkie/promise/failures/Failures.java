@@ -0,0 +1,90 @@
+package com.github.jparkie.promise.failures;
+
+/**
+ * A companion class of the failures for the expected outcomes of promises.
+ *
+ * Such failures are frequent on hot paths, so they skip the capture of their stack traces and are
+ * shared singletons. The shared failures must not be mutated, such as by {@link Throwable#initCause(Throwable)}.
+ *
+ * The debug mode restores the stack traces: each failure is a new instance with its full stack trace.
+ * The debug mode is enabled by the system property "com.github.jparkie.promise.failures.debug",
+ * or by {@link #setDebug(boolean)}.
+ */
+public final class Failures {
+    private static volatile boolean debug = Boolean.getBoolean("com.github.jparkie.promise.failures.debug");
+
+    private static final FilterRejectedException FILTER_REJECTED = new FilterRejectedException();
+    private static final EndOfStreamException END_OF_STREAM = new EndOfStreamException();
+    private static final PromiseTimeoutException TIMEOUT = new PromiseTimeoutException();
+    private static final PromiseCancellationException CANCELLATION = new PromiseCancellationException();
+    private static final CircuitOpenException CIRCUIT_OPEN = new CircuitOpenException();
+    private static final ChannelClosedException CHANNEL_CLOSED = new ChannelClosedException();
+
+    private Failures() throws IllegalAccessException {
+        throw new IllegalAccessException();
+    }
+
+    /**
+     * Returns whether the failures capture their stack traces.
+     * @return True if the debug mode is enabled.
+     */
+    public static boolean isDebug() {
+        return debug;
+    }
+
+    /**
+     * Enables or disables the debug mode.
+     * @param debug True to capture the stack traces of the failures.
+     */
+    public static void setDebug(boolean debug) {
+        Failures.debug = debug;
+    }
+
+    /**
+     * Returns the failure of a value rejected by a filter.
+     * @return The shared failure, or a new failure in debug mode.
+     */
+    public static FilterRejectedException filterRejected() {
+        return debug ? new FilterRejectedException() : FILTER_REJECTED;
+    }
+
+    /**
+     * Returns the failure which signals the end of an iteration.
+     * @return The shared failure, or a new failure in debug mode.
+     */
+    public static EndOfStreamException endOfStream() {
+        return debug ? new EndOfStreamException() : END_OF_STREAM;
+    }
+
+    /**
+     * Returns the failure of an await which timed out, such as by {@link com.github.jparkie.promise.extras.PromiseFuture#get(long, java.util.concurrent.TimeUnit)}.
+     * @return The shared failure, or a new failure in debug mode.
+     */
+    public static PromiseTimeoutException timeout() {
+        return debug ? new PromiseTimeoutException() : TIMEOUT;
+    }
+
+    /**
+     * Returns the failure of a promise which was cancelled, such as by {@link com.github.jparkie.promise.extras.PromiseFuture#get()}.
+     * @return The shared failure, or a new failure in debug mode.
+     */
+    public static PromiseCancellationException cancellation() {
+        return debug ? new PromiseCancellationException() : CANCELLATION;
+    }
+
+    /**
+     * Returns the failure of a call rejected by an open circuit breaker.
+     * @return The shared failure, or a new failure in debug mode.
+     */
+    public static CircuitOpenException circuitOpen() {
+        return debug ? new CircuitOpenException() : CIRCUIT_OPEN;
+    }
+
+    /**
+     * Returns the failure of an item offered to a closed channel.
+     * @return The shared failure, or a new failure in debug mode.
+     */
+    public static ChannelClosedException channelClosed() {
+        return debug ? new ChannelClosedException() : CHANNEL_CLOSED;
+    }
+}
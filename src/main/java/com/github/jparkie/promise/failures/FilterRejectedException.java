@@ -0,0 +1,19 @@
+package com.github.jparkie.promise.failures;
+
+import java.util.NoSuchElementException;
+
+/**
+ * The failure of a value rejected by a filter.
+ */
+public final class FilterRejectedException extends NoSuchElementException {
+    private static final long serialVersionUID = 1L;
+
+    FilterRejectedException() {
+        super("Value was rejected by the filter.");
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return Failures.isDebug() ? super.fillInStackTrace() : this;
+    }
+}
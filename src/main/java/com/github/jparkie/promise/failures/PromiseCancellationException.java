@@ -0,0 +1,19 @@
+package com.github.jparkie.promise.failures;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * The failure of a promise which was cancelled.
+ */
+public final class PromiseCancellationException extends CancellationException {
+    private static final long serialVersionUID = 1L;
+
+    PromiseCancellationException() {
+        super("Promise was cancelled.");
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return Failures.isDebug() ? super.fillInStackTrace() : this;
+    }
+}
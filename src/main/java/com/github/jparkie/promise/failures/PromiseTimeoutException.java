@@ -0,0 +1,19 @@
+package com.github.jparkie.promise.failures;
+
+import java.util.concurrent.TimeoutException;
+
+/**
+ * The failure of an await which timed out.
+ */
+public final class PromiseTimeoutException extends TimeoutException {
+    private static final long serialVersionUID = 1L;
+
+    PromiseTimeoutException() {
+        super("Await has timed out.");
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return Failures.isDebug() ? super.fillInStackTrace() : this;
+    }
+}
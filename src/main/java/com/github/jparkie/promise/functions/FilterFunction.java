@@ -3,8 +3,7 @@ package com.github.jparkie.promise.functions;
 import com.github.jparkie.promise.Function;
 import com.github.jparkie.promise.Promise;
 import com.github.jparkie.promise.Promises;
-
-import java.util.NoSuchElementException;
+import com.github.jparkie.promise.failures.Failures;
 
 public abstract class FilterFunction<T> implements Function<T, T> {
     @Override
@@ -13,7 +12,7 @@ public abstract class FilterFunction<T> implements Function<T, T> {
             if (filter(promise.get())) {
                 return promise;
             } else {
-                return Promises.error(new NoSuchElementException());
+                return Promises.error(Failures.filterRejected());
             }
         } else {
             return promise;
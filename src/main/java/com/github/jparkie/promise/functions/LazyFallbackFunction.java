@@ -0,0 +1,17 @@
+package com.github.jparkie.promise.functions;
+
+import com.github.jparkie.promise.Function;
+import com.github.jparkie.promise.Promise;
+
+public abstract class LazyFallbackFunction<T> implements Function<T, T> {
+    @Override
+    public Promise<T> call(Promise<T> promise) {
+        if (promise.isSuccessful()) {
+            return promise;
+        } else {
+            return fallback();
+        }
+    }
+
+    public abstract Promise<T> fallback();
+}
@@ -0,0 +1,171 @@
+package com.github.jparkie.promise.functions;
+
+import com.github.jparkie.promise.Action;
+import com.github.jparkie.promise.Function;
+import com.github.jparkie.promise.Promise;
+import com.github.jparkie.promise.Promises;
+import com.github.jparkie.promise.Scheduler;
+import com.github.jparkie.promise.Schedulers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An immutable chain of functions, each called on its scheduler, which is built once and applied to many promises.
+ *
+ * Applying a pipeline to a promise is equivalent to chaining then() with its stages, but each application
+ * only allocates the new promise and one run which is reused across the stages.
+ *
+ * If the pipeline is fused,
+ *  a stage whose function returns a completed promise calls the next stage directly when both stages
+ *  share the same scheduler, instead of scheduling the next stage.
+ * If any promise of the stages cancels,
+ *  the new promise cancels.
+ * @param <T> The type of the input promises.
+ * @param <U> The type of the output promises.
+ */
+@SuppressWarnings("unchecked")
+public final class Pipeline<T, U> implements Function<T, U> {
+    private static final Scheduler INLINE_SCHEDULER = Schedulers.newSimpleScheduler();
+
+    private final Function<Object, Object>[] functions;
+    private final Scheduler[] schedulers;
+    private final boolean fused;
+
+    private Pipeline(Function<Object, Object>[] functions, Scheduler[] schedulers, boolean fused) {
+        this.functions = functions;
+        this.schedulers = schedulers;
+        this.fused = fused;
+    }
+
+    /**
+     * Returns a new builder of a pipeline without any stage.
+     * @param <T> The type of the input promises.
+     * @return The new builder.
+     */
+    public static <T> Builder<T, T> builder() {
+        return new Builder<T, T>();
+    }
+
+    /**
+     * Applies the pipeline to the promise.
+     * @param promise The input promise.
+     * @return The new promise of the output of the last stage, or of the input if the pipeline has no stage.
+     */
+    @Override
+    public Promise<U> call(Promise<T> promise) {
+        final Promise<U> outputPromise = Promises.promise();
+        final PipelineRun run = new PipelineRun((Promise<Object>) outputPromise);
+        ((Promise<Object>) promise).then(functions.length == 0 ? INLINE_SCHEDULER : schedulers[0], run);
+
+        return outputPromise;
+    }
+
+    /**
+     * Returns the number of stages of the pipeline.
+     * @return The number of stages.
+     */
+    public int size() {
+        return functions.length;
+    }
+
+    /**
+     * A builder of a {@link Pipeline}. A builder is not thread-safe, but the pipelines it builds are.
+     * @param <T> The type of the input promises.
+     * @param <U> The type of the output promises of the current last stage.
+     */
+    public static final class Builder<T, U> {
+        private final List<Function<Object, Object>> functions = new ArrayList<Function<Object, Object>>();
+        private final List<Scheduler> schedulers = new ArrayList<Scheduler>();
+
+        private boolean fused;
+
+        private Builder() {
+            // Do Nothing.
+        }
+
+        /**
+         * Appends a stage which calls the function on the scheduler.
+         * @param scheduler The scheduler to call the function.
+         * @param function The function of the stage.
+         * @param <V> The type of the output promises of the stage.
+         * @return This builder.
+         */
+        public <V> Builder<T, V> then(Scheduler scheduler, Function<U, V> function) {
+            functions.add((Function<Object, Object>) (Function<?, ?>) function);
+            schedulers.add(scheduler);
+            return (Builder<T, V>) this;
+        }
+
+        /**
+         * Fuses the consecutive stages which share the same scheduler.
+         * @return This builder.
+         */
+        public Builder<T, U> fuse() {
+            fused = true;
+            return this;
+        }
+
+        /**
+         * Returns a new pipeline of the current stages.
+         * @return The new pipeline.
+         */
+        public Pipeline<T, U> build() {
+            return new Pipeline<T, U>(
+                    (Function<Object, Object>[]) functions.toArray(new Function<?, ?>[functions.size()]),
+                    schedulers.toArray(new Scheduler[schedulers.size()]),
+                    fused);
+        }
+    }
+
+    private final class PipelineRun implements Action<Object> {
+        private final Promise<Object> outputPromise;
+
+        private volatile int stageIndex;
+
+        private PipelineRun(Promise<Object> outputPromise) {
+            this.outputPromise = outputPromise;
+        }
+
+        @Override
+        public void call(Promise<Object> promise) {
+            int index = stageIndex;
+            if (index == functions.length) {
+                complete(promise);
+                return;
+            }
+
+            Promise<Object> currentPromise = functions[index].call(promise);
+            index++;
+            while (fused && index < functions.length && schedulers[index] == schedulers[index - 1] && isCompleted(currentPromise)) {
+                currentPromise = functions[index].call(currentPromise);
+                index++;
+            }
+
+            if (fused && index == functions.length && isCompleted(currentPromise)) {
+                complete(currentPromise);
+                return;
+            }
+
+            stageIndex = index;
+            currentPromise.then(schedulers[Math.min(index, functions.length - 1)], this);
+        }
+
+        @Override
+        public void cancel() {
+            outputPromise.cancel();
+        }
+
+        private boolean isCompleted(Promise<Object> promise) {
+            return promise.isDone() && !promise.isCancelled();
+        }
+
+        private void complete(Promise<Object> promise) {
+            if (promise.isSuccessful()) {
+                outputPromise.set(promise.get());
+            } else {
+                outputPromise.setError(promise.getError());
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.github.jparkie.promise.functions;
+
+import com.github.jparkie.promise.Function;
+import com.github.jparkie.promise.Promise;
+
+public abstract class RecoverWithFunction<T> implements Function<T, T> {
+    private final Class<? extends Throwable> errorType;
+
+    public RecoverWithFunction() {
+        this(Throwable.class);
+    }
+
+    public RecoverWithFunction(Class<? extends Throwable> errorType) {
+        this.errorType = errorType;
+    }
+
+    @Override
+    public Promise<T> call(Promise<T> promise) {
+        if (promise.isSuccessful() || !errorType.isInstance(promise.getError())) {
+            return promise;
+        } else {
+            return recoverWith(promise.getError());
+        }
+    }
+
+    public abstract Promise<T> recoverWith(Throwable error);
+}
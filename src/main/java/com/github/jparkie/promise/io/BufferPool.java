@@ -0,0 +1,95 @@
+package com.github.jparkie.promise.io;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A thread-safe pool of direct byte buffers of the same capacity.
+ *
+ * Direct buffers are expensive to allocate and are released only by the garbage collector; thus, the buffers
+ * are acquired from the pool and explicitly released back to it. A buffer released beyond the maximum
+ * pooled count is dropped. A buffer must not be used after its release.
+ */
+public final class BufferPool {
+    private final ConcurrentLinkedQueue<ByteBuffer> pooledBuffers = new ConcurrentLinkedQueue<ByteBuffer>();
+    private final AtomicInteger pooledCounter = new AtomicInteger(0);
+    private final AtomicInteger allocatedCounter = new AtomicInteger(0);
+    private final int bufferSize;
+    private final int maxPooledCount;
+
+    /**
+     * Constructor for a BufferPool.
+     *
+     * @param bufferSize the capacity of each buffer in bytes
+     * @param maxPooledCount the maximum number of idle buffers retained by the pool
+     */
+    public BufferPool(int bufferSize, int maxPooledCount) {
+        if (bufferSize < 1) {
+            throw new IllegalArgumentException("bufferSize must be positive: " + bufferSize);
+        }
+        if (maxPooledCount < 0) {
+            throw new IllegalArgumentException("maxPooledCount must not be negative: " + maxPooledCount);
+        }
+
+        this.bufferSize = bufferSize;
+        this.maxPooledCount = maxPooledCount;
+    }
+
+    /**
+     * Returns a cleared buffer from the pool, or a new buffer if the pool is empty.
+     * @return The cleared buffer.
+     */
+    public ByteBuffer acquire() {
+        final ByteBuffer buffer = pooledBuffers.poll();
+        if (buffer == null) {
+            allocatedCounter.incrementAndGet();
+            return ByteBuffer.allocateDirect(bufferSize);
+        }
+
+        pooledCounter.decrementAndGet();
+        buffer.clear();
+        return buffer;
+    }
+
+    /**
+     * Releases the buffer back to the pool.
+     * @param buffer The buffer acquired from this pool.
+     */
+    public void release(ByteBuffer buffer) {
+        if (buffer.capacity() != bufferSize || !buffer.isDirect()) {
+            throw new IllegalArgumentException("Buffer was not acquired from this pool: " + buffer);
+        }
+
+        if (pooledCounter.incrementAndGet() > maxPooledCount) {
+            pooledCounter.decrementAndGet();
+            return;
+        }
+
+        pooledBuffers.offer(buffer);
+    }
+
+    /**
+     * Returns the capacity of each buffer in bytes.
+     * @return The capacity of each buffer.
+     */
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    /**
+     * Returns the number of idle buffers retained by the pool.
+     * @return The number of idle buffers.
+     */
+    public int getPooledCount() {
+        return pooledCounter.get();
+    }
+
+    /**
+     * Returns the number of buffers allocated by the pool.
+     * @return The number of buffers allocated.
+     */
+    public int getAllocatedCount() {
+        return allocatedCounter.get();
+    }
+}
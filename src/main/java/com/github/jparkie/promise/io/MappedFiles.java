@@ -0,0 +1,156 @@
+package com.github.jparkie.promise.io;
+
+import com.github.jparkie.promise.Action;
+import com.github.jparkie.promise.Promise;
+import com.github.jparkie.promise.Promises;
+import com.github.jparkie.promise.Scheduler;
+import com.github.jparkie.promise.Schedulers;
+import com.github.jparkie.promise.extras.Accumulator;
+import com.github.jparkie.promise.extras.ExtraPromises;
+import com.github.jparkie.promise.extras.Mapper;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A companion class for processing files through memory-mapped segments.
+ *
+ * Provides various methods for splitting a file into segments aligned to record boundaries and
+ * processing the segments in parallel.
+ */
+public final class MappedFiles {
+    private static final Scheduler INLINE_SCHEDULER = Schedulers.newSimpleScheduler();
+    private static final int SCAN_BUFFER_SIZE = 8 * 1024;
+
+    private MappedFiles() throws IllegalAccessException {
+        throw new IllegalAccessException();
+    }
+
+    /**
+     * Returns the offsets of the segments of the file, each ending after a delimiter or at the end of the file.
+     *
+     * Each segment spans at least segmentSize bytes, except the last, and extends to the end of the record
+     * which crosses its nominal end; thus, no record is split across two segments.
+     *
+     * @param channel The channel of the file.
+     * @param segmentSize The nominal size of each segment in bytes.
+     * @param delimiter The byte which ends a record, such as a newline.
+     * @return The offsets of the segments: the start of each segment, followed by the size of the file.
+     * @throws IOException If the file cannot be read, an exception is thrown.
+     */
+    public static long[] split(FileChannel channel, long segmentSize, byte delimiter) throws IOException {
+        if (segmentSize < 1 || segmentSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("segmentSize must be between 1 and Integer.MAX_VALUE: " + segmentSize);
+        }
+
+        final long size = channel.size();
+        final List<Long> offsets = new ArrayList<Long>();
+        final ByteBuffer scanBuffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        long offset = 0;
+        while (offset < size) {
+            offsets.add(offset);
+            offset = endOfRecord(channel, scanBuffer, offset + segmentSize - 1, size, delimiter);
+        }
+        offsets.add(size);
+
+        final long[] segmentOffsets = new long[offsets.size()];
+        for (int index = 0; index < segmentOffsets.length; index++) {
+            segmentOffsets[index] = offsets.get(index);
+        }
+
+        return segmentOffsets;
+    }
+
+    /**
+     * Returns a new promise of the results of the segments of the file, combined in the order of the segments.
+     *
+     * Each segment is mapped read-only and processed on the scheduler; thus, the segments are processed in
+     * parallel without copying the file into the heap. The processor receives the mapped buffer of its segment,
+     * which must not be retained after the processor returns.
+     *
+     * If the file cannot be read, or a segment fails to map or to process,
+     *  the new promise fails with the first failure.
+     *
+     * @param scheduler The scheduler to process the segments.
+     * @param channel The channel of the file.
+     * @param segmentSize The nominal size of each segment in bytes.
+     * @param delimiter The byte which ends a record, such as a newline.
+     * @param processor The processor of the mapped buffer of a segment.
+     * @param identity The initial combined result.
+     * @param combiner The combiner of a result of a segment into the combined result.
+     * @param <R> The type of the results of the segments.
+     * @param <A> The type of the combined result.
+     * @return The new promise of the combined result.
+     */
+    public static <R, A> Promise<A> process(
+            Scheduler scheduler,
+            final FileChannel channel,
+            long segmentSize,
+            byte delimiter,
+            final Mapper<ByteBuffer, R> processor,
+            A identity,
+            Accumulator<A, R> combiner) {
+        final long[] segmentOffsets;
+        try {
+            segmentOffsets = split(channel, segmentSize, delimiter);
+        } catch (IOException e) {
+            return Promises.error(e);
+        }
+
+        final List<Promise<R>> segmentPromises = new ArrayList<Promise<R>>(segmentOffsets.length - 1);
+        for (int index = 0; index < segmentOffsets.length - 1; index++) {
+            final long position = segmentOffsets[index];
+            final long size = segmentOffsets[index + 1] - position;
+            segmentPromises.add(Promises.create(scheduler, new Action<R>() {
+                @Override
+                public void call(Promise<R> promise) {
+                    if (promise.isCancelled()) {
+                        return;
+                    }
+
+                    final R result;
+                    try {
+                        result = processor.map(channel.map(FileChannel.MapMode.READ_ONLY, position, size));
+                    } catch (IOException e) {
+                        promise.setError(e);
+                        return;
+                    } catch (RuntimeException e) {
+                        promise.setError(e);
+                        return;
+                    }
+
+                    promise.set(result);
+                }
+
+                @Override
+                public void cancel() {
+                    // Do Nothing.
+                }
+            }));
+        }
+
+        return ExtraPromises.foldOrdered(INLINE_SCHEDULER, segmentPromises, identity, combiner);
+    }
+
+    private static long endOfRecord(FileChannel channel, ByteBuffer scanBuffer, long position, long size, byte delimiter) throws IOException {
+        while (position < size) {
+            scanBuffer.clear();
+            final int readCount = channel.read(scanBuffer, position);
+            if (readCount < 0) {
+                break;
+            }
+
+            for (int index = 0; index < readCount; index++) {
+                if (scanBuffer.get(index) == delimiter) {
+                    return position + index + 1;
+                }
+            }
+            position += readCount;
+        }
+
+        return size;
+    }
+}
@@ -0,0 +1,391 @@
+package com.github.jparkie.promise.pools;
+
+import com.github.jparkie.promise.Action;
+import com.github.jparkie.promise.Function;
+import com.github.jparkie.promise.Promise;
+import com.github.jparkie.promise.Promises;
+import com.github.jparkie.promise.Scheduler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link Promise} which can be recycled into its {@link PromisePool} once completed or cancelled.
+ *
+ * Each acquisition of the promise is identified by a generation stamp and returns a new handle bound to it;
+ * the state of the promise, its lock, and its list of actions are reused across the acquisitions.
+ * Any use of a handle after the recycle of its acquisition throws an {@link IllegalStateException},
+ * even once the promise has been acquired again; thus, a stale owner cannot observe or complete
+ * the promise of another owner.
+ *
+ * If an action dispatched to a scheduler has yet to return, such as the action which recycles the promise
+ * upon its completion, the recycle is deferred until the last of these actions returns; until then,
+ * the actions can still use the handle.
+ *
+ * The handle is the only allocation of an acquisition which registers no action: 24 bytes on a 64-bit JVM
+ * with compressed references, against 168 bytes for a promise of {@link Promises#promise()} with its lock
+ * and list of actions. Each action registered with then() allocates its context as with any promise.
+ * @param <T> The type of the value promised to be available now, or in the future, or never.
+ */
+public final class PooledPromise<T> implements Promise<T> {
+    private final Slot<T> slot;
+    private final long stamp;
+
+    private PooledPromise(Slot<T> slot, long stamp) {
+        this.slot = slot;
+        this.stamp = stamp;
+    }
+
+    /**
+     * Returns the generation stamp of the current acquisition.
+     * @return The generation stamp.
+     * @throws IllegalStateException If the promise has been recycled, an exception is thrown.
+     */
+    public long stamp() throws IllegalStateException {
+        checkAcquired();
+
+        return stamp;
+    }
+
+    /**
+     * Returns whether the provided stamp identifies the current acquisition.
+     * @param stamp The generation stamp to verify.
+     * @return If the promise is acquired under the stamp, true, else, false.
+     */
+    public boolean isValid(long stamp) {
+        return this.stamp == stamp && !slot.recycleFlag && !slot.recyclePendingFlag && slot.generation == stamp;
+    }
+
+    /**
+     * Returns the promise to its pool. The promise must be completed or cancelled.
+     * If an action dispatched to a scheduler has yet to return, the promise is returned once the last
+     * of these actions returns; thus, the promise can be recycled from its own actions.
+     * @param stamp The generation stamp of the current acquisition.
+     * @throws IllegalStateException If the stamp is stale, or if the promise is neither completed nor cancelled,
+     * an exception is thrown.
+     */
+    public void recycle(long stamp) throws IllegalStateException {
+        synchronized (slot.promiseLock) {
+            if (!isValid(stamp)) {
+                throw new IllegalStateException("Stale generation: " + stamp);
+            }
+            if (!slot.cancelFlag && !slot.promiseFlag) {
+                throw new IllegalStateException("Promise is pending.");
+            }
+            if (slot.pendingCount > 0) {
+                slot.recyclePendingFlag = true;
+                return;
+            }
+
+            slot.resetLocked();
+        }
+
+        slot.stack.push(slot);
+    }
+
+    @Override
+    public boolean isCancelled() {
+        final boolean cancelFlag = slot.cancelFlag;
+        checkAcquired();
+
+        return cancelFlag;
+    }
+
+    @Override
+    public boolean isDone() {
+        final boolean promiseFlag = slot.promiseFlag;
+        checkAcquired();
+
+        return promiseFlag;
+    }
+
+    @Override
+    public boolean isSuccessful() {
+        final boolean promiseFlag = slot.promiseFlag;
+        final Throwable error = slot.error;
+        checkAcquired();
+
+        return promiseFlag && error == null;
+    }
+
+    @Override
+    public void cancel() {
+        final List<ActionContext<T>> temporaryActionContexts;
+        synchronized (slot.promiseLock) {
+            checkAcquired();
+
+            slot.cancelFlag = true;
+
+            temporaryActionContexts = takeActionContextsLocked();
+
+            slot.promiseLock.notifyAll();
+        }
+
+        for (ActionContext<T> actionContext : temporaryActionContexts) {
+            actionContext.scheduler.cancel(actionContext);
+        }
+    }
+
+    @Override
+    public void await() throws InterruptedException {
+        synchronized (slot.promiseLock) {
+            while (!isCancelled() && !isDone()) {
+                slot.promiseLock.wait();
+            }
+        }
+    }
+
+    @Override
+    public boolean await(long timeout, TimeUnit unit) throws InterruptedException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (slot.promiseLock) {
+            while (!isCancelled() && !isDone()) {
+                final long remainingNanos = deadline - System.nanoTime();
+                if (remainingNanos <= 0) {
+                    return false;
+                }
+
+                TimeUnit.NANOSECONDS.timedWait(slot.promiseLock, remainingNanos);
+            }
+
+            return true;
+        }
+    }
+
+    @Override
+    public T get() throws IllegalStateException {
+        final boolean completeFlag = slot.cancelFlag || slot.promiseFlag;
+        final T value = slot.value;
+        checkAcquired();
+        if (!completeFlag) {
+            throw new IllegalStateException();
+        }
+
+        return value;
+    }
+
+    @Override
+    public Throwable getError() throws IllegalStateException {
+        final boolean completeFlag = slot.cancelFlag || slot.promiseFlag;
+        final Throwable error = slot.error;
+        checkAcquired();
+        if (!completeFlag) {
+            throw new IllegalStateException();
+        }
+
+        return error;
+    }
+
+    @Override
+    public void set(T value) throws IllegalStateException {
+        complete(value, null);
+    }
+
+    @Override
+    public void setError(Throwable error) throws IllegalStateException {
+        complete(null, error);
+    }
+
+    @Override
+    public <U> Promise<U> then(Scheduler scheduler, Function<T, U> function) {
+        final Promise<U> deferredPromise = Promises.promise();
+        if (isCancelled()) {
+            deferredPromise.cancel();
+        } else {
+            then(scheduler, new FunctionAction<T, U>(deferredPromise, scheduler, function));
+        }
+
+        return deferredPromise;
+    }
+
+    @Override
+    public void then(Scheduler scheduler, Action<T> action) {
+        final ActionContext<T> actionContext = new ActionContext<T>(slot, scheduler, action);
+        final boolean cancelFlag;
+        synchronized (slot.promiseLock) {
+            checkAcquired();
+
+            cancelFlag = slot.cancelFlag;
+            if (!cancelFlag && !slot.promiseFlag) {
+                slot.actionContexts.add(actionContext);
+                return;
+            }
+
+            slot.pendingCount++;
+        }
+
+        if (cancelFlag) {
+            scheduler.cancel(actionContext);
+        } else {
+            scheduler.schedule(actionContext, this);
+        }
+    }
+
+    private void complete(T value, Throwable error) {
+        final List<ActionContext<T>> temporaryActionContexts;
+        synchronized (slot.promiseLock) {
+            checkAcquired();
+            if (slot.cancelFlag) {
+                return;
+            }
+            if (slot.promiseFlag) {
+                throw new IllegalStateException();
+            }
+
+            slot.value = value;
+            slot.error = error;
+            slot.promiseFlag = true;
+
+            temporaryActionContexts = takeActionContextsLocked();
+
+            slot.promiseLock.notifyAll();
+        }
+
+        for (ActionContext<T> actionContext : temporaryActionContexts) {
+            actionContext.scheduler.schedule(actionContext, this);
+        }
+    }
+
+    private List<ActionContext<T>> takeActionContextsLocked() {
+        if (slot.actionContexts.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        final List<ActionContext<T>> temporaryActionContexts = new ArrayList<ActionContext<T>>(slot.actionContexts);
+        slot.actionContexts.clear();
+        slot.pendingCount += temporaryActionContexts.size();
+
+        return temporaryActionContexts;
+    }
+
+    // The fields of the slot are read before the generation; as a recycle advances the generation
+    // before it resets the fields, a stale handle cannot return the state of a later acquisition.
+    private void checkAcquired() throws IllegalStateException {
+        if (slot.generation != stamp || slot.recycleFlag) {
+            throw new IllegalStateException("Promise has been recycled.");
+        }
+    }
+
+    static final class Slot<T> {
+        private final Object promiseLock = new Object();
+        private final List<ActionContext<T>> actionContexts = new ArrayList<ActionContext<T>>();
+        private final PromisePool.Stack<T> stack;
+
+        private int pendingCount;
+        private volatile T value;
+        private volatile Throwable error;
+        private volatile boolean cancelFlag;
+        private volatile boolean promiseFlag;
+        private volatile boolean recycleFlag;
+        private volatile boolean recyclePendingFlag;
+        private volatile long generation;
+
+        Slot(PromisePool.Stack<T> stack) {
+            this.stack = stack;
+        }
+
+        PooledPromise<T> acquire() {
+            recycleFlag = false;
+
+            return new PooledPromise<T>(this, generation);
+        }
+
+        private void release() {
+            synchronized (promiseLock) {
+                pendingCount--;
+                if (pendingCount > 0 || !recyclePendingFlag) {
+                    return;
+                }
+
+                resetLocked();
+            }
+
+            stack.push(this);
+        }
+
+        private void resetLocked() {
+            generation = generation + 1;
+            recycleFlag = true;
+            recyclePendingFlag = false;
+            value = null;
+            error = null;
+            cancelFlag = false;
+            promiseFlag = false;
+
+            actionContexts.clear();
+        }
+    }
+
+    private static final class ActionContext<T> implements Action<T> {
+        private final Slot<T> slot;
+        private final Scheduler scheduler;
+        private final Action<T> action;
+
+        private ActionContext(Slot<T> slot, Scheduler scheduler, Action<T> action) {
+            this.slot = slot;
+            this.scheduler = scheduler;
+            this.action = action;
+        }
+
+        @Override
+        public void call(Promise<T> promise) {
+            try {
+                action.call(promise);
+            } finally {
+                slot.release();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            try {
+                action.cancel();
+            } finally {
+                slot.release();
+            }
+        }
+    }
+
+    private static final class FunctionAction<T, U> implements Action<T> {
+        private final Promise<U> deferredPromise;
+        private final Scheduler scheduler;
+        private final Function<T, U> function;
+
+        private FunctionAction(Promise<U> deferredPromise, Scheduler scheduler, Function<T, U> function) {
+            this.deferredPromise = deferredPromise;
+            this.scheduler = scheduler;
+            this.function = function;
+        }
+
+        @Override
+        public void call(Promise<T> promise) {
+            final Promise<U> calledPromise = function.call(promise);
+            calledPromise.then(scheduler, new Action<U>() {
+                @Override
+                public void call(Promise<U> completedPromise) {
+                    if (completedPromise.isSuccessful()) {
+                        deferredPromise.set(completedPromise.get());
+                    } else {
+                        deferredPromise.setError(completedPromise.getError());
+                    }
+                }
+
+                @Override
+                public void cancel() {
+                    if (!deferredPromise.isCancelled()) {
+                        deferredPromise.cancel();
+                    }
+                }
+            });
+        }
+
+        @Override
+        public void cancel() {
+            if (!deferredPromise.isCancelled()) {
+                deferredPromise.cancel();
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.github.jparkie.promise.pools;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A pool of {@link PooledPromise}s for request-scoped hot paths.
+ *
+ * Each thread acquires from its own free list. A promise recycled by another thread is returned to
+ * the free list of the thread which allocated it, up to a bound; beyond the bound, it is left to the
+ * garbage collector.
+ * @param <T> The type of the value promised to be available now, or in the future, or never.
+ */
+public final class PromisePool<T> {
+    private final int maxCapacityPerThread;
+    private final int maxCrossThreadReturns;
+    private final ThreadLocal<Stack<T>> threadLocalStack = new ThreadLocal<Stack<T>>() {
+        @Override
+        protected Stack<T> initialValue() {
+            return new Stack<T>(Thread.currentThread(), maxCapacityPerThread, maxCrossThreadReturns);
+        }
+    };
+
+    /**
+     * Constructor for a PromisePool.
+     *
+     * @param maxCapacityPerThread the maximum number of free promises retained per thread
+     * @param maxCrossThreadReturns the maximum number of promises pending their return from other threads per thread
+     */
+    public PromisePool(int maxCapacityPerThread, int maxCrossThreadReturns) {
+        if (maxCapacityPerThread < 0 || maxCrossThreadReturns < 0) {
+            throw new IllegalArgumentException();
+        }
+
+        this.maxCapacityPerThread = maxCapacityPerThread;
+        this.maxCrossThreadReturns = maxCrossThreadReturns;
+    }
+
+    /**
+     * Returns an unresolved promise from the free list of the current thread, or a new one.
+     * Either way, the returned handle is new and bound to the current acquisition.
+     * @return The unresolved promise.
+     */
+    public PooledPromise<T> acquire() {
+        final Stack<T> stack = threadLocalStack.get();
+        PooledPromise.Slot<T> slot = stack.pop();
+        if (slot == null) {
+            slot = new PooledPromise.Slot<T>(stack);
+        }
+
+        return slot.acquire();
+    }
+
+    static final class Stack<T> {
+        private final ArrayDeque<PooledPromise.Slot<T>> localSlots = new ArrayDeque<PooledPromise.Slot<T>>();
+        private final ConcurrentLinkedQueue<PooledPromise.Slot<T>> crossThreadSlots = new ConcurrentLinkedQueue<PooledPromise.Slot<T>>();
+        private final AtomicInteger crossThreadCounter = new AtomicInteger(0);
+        private final Thread ownerThread;
+        private final int maxCapacity;
+        private final int maxCrossThreadReturns;
+
+        private Stack(Thread ownerThread, int maxCapacity, int maxCrossThreadReturns) {
+            this.ownerThread = ownerThread;
+            this.maxCapacity = maxCapacity;
+            this.maxCrossThreadReturns = maxCrossThreadReturns;
+        }
+
+        PooledPromise.Slot<T> pop() {
+            if (localSlots.isEmpty()) {
+                PooledPromise.Slot<T> slot;
+                while (localSlots.size() < maxCapacity && (slot = crossThreadSlots.poll()) != null) {
+                    crossThreadCounter.decrementAndGet();
+                    localSlots.push(slot);
+                }
+            }
+
+            return localSlots.poll();
+        }
+
+        void push(PooledPromise.Slot<T> slot) {
+            if (Thread.currentThread() == ownerThread) {
+                if (localSlots.size() < maxCapacity) {
+                    localSlots.push(slot);
+                }
+            } else if (crossThreadCounter.incrementAndGet() <= maxCrossThreadReturns) {
+                crossThreadSlots.offer(slot);
+            } else {
+                crossThreadCounter.decrementAndGet();
+            }
+        }
+    }
+}
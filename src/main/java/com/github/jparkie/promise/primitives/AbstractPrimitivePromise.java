@@ -0,0 +1,279 @@
+package com.github.jparkie.promise.primitives;
+
+import com.github.jparkie.promise.Action;
+import com.github.jparkie.promise.Function;
+import com.github.jparkie.promise.Promise;
+import com.github.jparkie.promise.Promises;
+import com.github.jparkie.promise.Scheduler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The shared completion machinery of the primitive-specialized promises.
+ *
+ * The value is stored unboxed as the raw bits of a long; subclasses only convert between
+ * their primitive and the bits, and box or unbox at the Promise&lt;T&gt; boundary.
+ * @param <T> The boxed type of the value promised.
+ */
+abstract class AbstractPrimitivePromise<T> implements Promise<T> {
+    private final Object promiseLock = new Object();
+    private final CountDownLatch awaitLatch = new CountDownLatch(1);
+    private final List<ActionContext<T>> actionContexts = new ArrayList<ActionContext<T>>();
+
+    private volatile long bits;
+    private volatile Throwable error;
+    private volatile boolean cancelFlag;
+    private volatile boolean promiseFlag;
+
+    @Override
+    public boolean isCancelled() {
+        return cancelFlag;
+    }
+
+    @Override
+    public boolean isDone() {
+        return promiseFlag;
+    }
+
+    @Override
+    public boolean isSuccessful() {
+        return isDone() && error == null;
+    }
+
+    @Override
+    public void cancel() {
+        cancelFlag = true;
+
+        final List<ActionContext<T>> temporaryActionContexts;
+        synchronized (promiseLock) {
+            temporaryActionContexts = new ArrayList<ActionContext<T>>(actionContexts);
+            actionContexts.clear();
+        }
+
+        for (ActionContext<T> actionContext : temporaryActionContexts) {
+            actionContext.scheduler.cancel(actionContext.action);
+        }
+
+        awaitLatch.countDown();
+    }
+
+    @Override
+    public void await() throws InterruptedException {
+        awaitLatch.await();
+    }
+
+    @Override
+    public boolean await(long timeout, TimeUnit unit) throws InterruptedException {
+        return awaitLatch.await(timeout, unit);
+    }
+
+    @Override
+    public T get() throws IllegalStateException {
+        checkReadable();
+
+        return isSuccessful() ? box(bits) : null;
+    }
+
+    @Override
+    public Throwable getError() throws IllegalStateException {
+        checkReadable();
+
+        return error;
+    }
+
+    @Override
+    public void set(T value) throws IllegalStateException {
+        if (value == null) {
+            throw new NullPointerException("value must not be null");
+        }
+
+        setBits(unbox(value));
+    }
+
+    @Override
+    public void setError(Throwable error) {
+        complete(0L, error);
+    }
+
+    @Override
+    public <U> Promise<U> then(Scheduler scheduler, Function<T, U> function) {
+        final Promise<U> deferredPromise = Promises.promise();
+        if (isCancelled()) {
+            deferredPromise.cancel();
+        } else {
+            then(scheduler, new FunctionAction<T, U>(deferredPromise, scheduler, function));
+        }
+
+        return deferredPromise;
+    }
+
+    @Override
+    public void then(Scheduler scheduler, Action<T> action) {
+        if (isCancelled()) {
+            scheduler.cancel(action);
+            return;
+        }
+
+        synchronized (promiseLock) {
+            if (!isDone()) {
+                actionContexts.add(new ActionContext<T>(scheduler, action));
+            } else {
+                scheduler.schedule(action, this);
+            }
+        }
+    }
+
+    /**
+     * Returns the raw bits of the value promised upon completion.
+     * @return The raw bits of the value, or 0 if failed or cancelled.
+     * @throws IllegalStateException If this method is called before the completion of the promise,
+     * an exception is thrown.
+     */
+    final long getBits() throws IllegalStateException {
+        checkReadable();
+
+        return bits;
+    }
+
+    /**
+     * Completes the promise with the raw bits of a value.
+     * @param bits The raw bits of the value to complete the promise.
+     * @throws IllegalStateException If this method is called after the completion of the promise,
+     * an exception is thrown.
+     */
+    final void setBits(long bits) throws IllegalStateException {
+        complete(bits, null);
+    }
+
+    /**
+     * Returns the deferred promise after registering the action which completes it,
+     * or after cancelling it if this promise is already cancelled.
+     * @param scheduler The scheduler to call the action.
+     * @param deferredPromise The promise completed by the action.
+     * @param action The action to complete the deferred promise.
+     * @param <P> The primitive-specialized type of the promises.
+     * @return The deferred promise.
+     */
+    final <P extends Promise<T>> P then(Scheduler scheduler, P deferredPromise, PrimitiveAction<T, P> action) {
+        if (isCancelled()) {
+            deferredPromise.cancel();
+        } else {
+            then(scheduler, action);
+        }
+
+        return deferredPromise;
+    }
+
+    abstract T box(long bits);
+
+    abstract long unbox(T value);
+
+    private void checkReadable() throws IllegalStateException {
+        if (!isCancelled() && !isDone()) {
+            throw new IllegalStateException();
+        }
+    }
+
+    private void complete(long bits, Throwable error) {
+        if (isCancelled()) {
+            return;
+        }
+
+        final List<ActionContext<T>> temporaryActionContexts;
+        synchronized (promiseLock) {
+            if (isDone()) {
+                throw new IllegalStateException();
+            }
+
+            this.bits = bits;
+            this.error = error;
+            this.promiseFlag = true;
+
+            temporaryActionContexts = new ArrayList<ActionContext<T>>(actionContexts);
+            actionContexts.clear();
+        }
+
+        for (ActionContext<T> actionContext : temporaryActionContexts) {
+            actionContext.scheduler.schedule(actionContext.action, this);
+        }
+
+        awaitLatch.countDown();
+    }
+
+    abstract static class PrimitiveAction<T, P extends Promise<T>> implements Action<T> {
+        private final P deferredPromise;
+
+        PrimitiveAction(P deferredPromise) {
+            this.deferredPromise = deferredPromise;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void call(Promise<T> promise) {
+            callPrimitive((P) promise);
+        }
+
+        @Override
+        public void cancel() {
+            if (!deferredPromise.isCancelled()) {
+                deferredPromise.cancel();
+            }
+        }
+
+        abstract void callPrimitive(P promise);
+    }
+
+    private static final class ActionContext<T> {
+        private final Scheduler scheduler;
+        private final Action<T> action;
+
+        private ActionContext(Scheduler scheduler, Action<T> action) {
+            this.scheduler = scheduler;
+            this.action = action;
+        }
+    }
+
+    private static final class FunctionAction<T, U> implements Action<T> {
+        private final Promise<U> deferredPromise;
+        private final Scheduler scheduler;
+        private final Function<T, U> function;
+
+        private FunctionAction(Promise<U> deferredPromise, Scheduler scheduler, Function<T, U> function) {
+            this.deferredPromise = deferredPromise;
+            this.scheduler = scheduler;
+            this.function = function;
+        }
+
+        @Override
+        public void call(Promise<T> promise) {
+            final Promise<U> calledPromise = function.call(promise);
+            calledPromise.then(scheduler, new Action<U>() {
+                @Override
+                public void call(Promise<U> completedPromise) {
+                    if (completedPromise.isSuccessful()) {
+                        deferredPromise.set(completedPromise.get());
+                    } else {
+                        deferredPromise.setError(completedPromise.getError());
+                    }
+                }
+
+                @Override
+                public void cancel() {
+                    if (!deferredPromise.isCancelled()) {
+                        deferredPromise.cancel();
+                    }
+                }
+            });
+        }
+
+        @Override
+        public void cancel() {
+            if (!deferredPromise.isCancelled()) {
+                deferredPromise.cancel();
+            }
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.github.jparkie.promise.primitives;
+
+import com.github.jparkie.promise.Scheduler;
+
+final class DefaultDoublePromise extends AbstractPrimitivePromise<Double> implements DoublePromise {
+    DefaultDoublePromise() {
+        // Do Nothing.
+    }
+
+    @Override
+    public double getDouble() throws IllegalStateException {
+        return Double.longBitsToDouble(getBits());
+    }
+
+    @Override
+    public void setDouble(double value) throws IllegalStateException {
+        setBits(Double.doubleToRawLongBits(value));
+    }
+
+    @Override
+    public DoublePromise then(Scheduler scheduler, final DoubleMapFunction function) {
+        final DoublePromise deferredPromise = new DefaultDoublePromise();
+        return then(scheduler, deferredPromise, new PrimitiveAction<Double, DoublePromise>(deferredPromise) {
+            @Override
+            void callPrimitive(DoublePromise promise) {
+                if (promise.isSuccessful()) {
+                    deferredPromise.setDouble(function.map(promise.getDouble()));
+                } else {
+                    deferredPromise.setError(promise.getError());
+                }
+            }
+        });
+    }
+
+    @Override
+    public DoublePromise then(Scheduler scheduler, final DoubleTransformFunction function) {
+        final DoublePromise deferredPromise = new DefaultDoublePromise();
+        return then(scheduler, deferredPromise, new PrimitiveAction<Double, DoublePromise>(deferredPromise) {
+            @Override
+            void callPrimitive(DoublePromise promise) {
+                if (promise.isSuccessful()) {
+                    deferredPromise.setDouble(function.transformSuccess(promise.getDouble()));
+                } else {
+                    deferredPromise.setError(function.transformThrowable(promise.getError()));
+                }
+            }
+        });
+    }
+
+    @Override
+    Double box(long bits) {
+        return Double.valueOf(Double.longBitsToDouble(bits));
+    }
+
+    @Override
+    long unbox(Double value) {
+        return Double.doubleToRawLongBits(value.doubleValue());
+    }
+}
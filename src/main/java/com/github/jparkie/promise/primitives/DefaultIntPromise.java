@@ -0,0 +1,59 @@
+package com.github.jparkie.promise.primitives;
+
+import com.github.jparkie.promise.Scheduler;
+
+final class DefaultIntPromise extends AbstractPrimitivePromise<Integer> implements IntPromise {
+    DefaultIntPromise() {
+        // Do Nothing.
+    }
+
+    @Override
+    public int getInt() throws IllegalStateException {
+        return (int) getBits();
+    }
+
+    @Override
+    public void setInt(int value) throws IllegalStateException {
+        setBits(value);
+    }
+
+    @Override
+    public IntPromise then(Scheduler scheduler, final IntMapFunction function) {
+        final IntPromise deferredPromise = new DefaultIntPromise();
+        return then(scheduler, deferredPromise, new PrimitiveAction<Integer, IntPromise>(deferredPromise) {
+            @Override
+            void callPrimitive(IntPromise promise) {
+                if (promise.isSuccessful()) {
+                    deferredPromise.setInt(function.map(promise.getInt()));
+                } else {
+                    deferredPromise.setError(promise.getError());
+                }
+            }
+        });
+    }
+
+    @Override
+    public IntPromise then(Scheduler scheduler, final IntTransformFunction function) {
+        final IntPromise deferredPromise = new DefaultIntPromise();
+        return then(scheduler, deferredPromise, new PrimitiveAction<Integer, IntPromise>(deferredPromise) {
+            @Override
+            void callPrimitive(IntPromise promise) {
+                if (promise.isSuccessful()) {
+                    deferredPromise.setInt(function.transformSuccess(promise.getInt()));
+                } else {
+                    deferredPromise.setError(function.transformThrowable(promise.getError()));
+                }
+            }
+        });
+    }
+
+    @Override
+    Integer box(long bits) {
+        return Integer.valueOf((int) bits);
+    }
+
+    @Override
+    long unbox(Integer value) {
+        return value.intValue();
+    }
+}
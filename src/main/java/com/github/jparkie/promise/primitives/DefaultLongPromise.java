@@ -0,0 +1,59 @@
+package com.github.jparkie.promise.primitives;
+
+import com.github.jparkie.promise.Scheduler;
+
+final class DefaultLongPromise extends AbstractPrimitivePromise<Long> implements LongPromise {
+    DefaultLongPromise() {
+        // Do Nothing.
+    }
+
+    @Override
+    public long getLong() throws IllegalStateException {
+        return getBits();
+    }
+
+    @Override
+    public void setLong(long value) throws IllegalStateException {
+        setBits(value);
+    }
+
+    @Override
+    public LongPromise then(Scheduler scheduler, final LongMapFunction function) {
+        final LongPromise deferredPromise = new DefaultLongPromise();
+        return then(scheduler, deferredPromise, new PrimitiveAction<Long, LongPromise>(deferredPromise) {
+            @Override
+            void callPrimitive(LongPromise promise) {
+                if (promise.isSuccessful()) {
+                    deferredPromise.setLong(function.map(promise.getLong()));
+                } else {
+                    deferredPromise.setError(promise.getError());
+                }
+            }
+        });
+    }
+
+    @Override
+    public LongPromise then(Scheduler scheduler, final LongTransformFunction function) {
+        final LongPromise deferredPromise = new DefaultLongPromise();
+        return then(scheduler, deferredPromise, new PrimitiveAction<Long, LongPromise>(deferredPromise) {
+            @Override
+            void callPrimitive(LongPromise promise) {
+                if (promise.isSuccessful()) {
+                    deferredPromise.setLong(function.transformSuccess(promise.getLong()));
+                } else {
+                    deferredPromise.setError(function.transformThrowable(promise.getError()));
+                }
+            }
+        });
+    }
+
+    @Override
+    Long box(long bits) {
+        return Long.valueOf(bits);
+    }
+
+    @Override
+    long unbox(Long value) {
+        return value.longValue();
+    }
+}
@@ -0,0 +1,5 @@
+package com.github.jparkie.promise.primitives;
+
+public abstract class DoubleMapFunction {
+    public abstract double map(double value);
+}
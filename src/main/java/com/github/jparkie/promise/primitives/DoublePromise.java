@@ -0,0 +1,46 @@
+package com.github.jparkie.promise.primitives;
+
+import com.github.jparkie.promise.Promise;
+import com.github.jparkie.promise.Scheduler;
+
+/**
+ * A {@link Promise} of a double which stores its value unboxed.
+ *
+ * As a Promise&lt;Double&gt;, it interoperates with any function or action; however, only
+ * getDouble(), setDouble(), and the primitive then() avoid boxing.
+ * A null value cannot be set; set(null) throws a {@link NullPointerException}.
+ */
+public interface DoublePromise extends Promise<Double> {
+    /**
+     * Returns the value promised upon completion without boxing.
+     * If failed or cancelled, returns 0.
+     * @return The value promised upon completion.
+     * @throws IllegalStateException If this method is called before the completion of the promise,
+     * an exception is thrown.
+     */
+    double getDouble() throws IllegalStateException;
+
+    /**
+     * Completes the promise with a value without boxing.
+     * @param value The value to complete the promise.
+     * @throws IllegalStateException If this method is called after the completion of the promise,
+     * an exception is thrown.
+     */
+    void setDouble(double value) throws IllegalStateException;
+
+    /**
+     * Returns a new mapped promise specified by the function upon the completion of this promise.
+     * @param scheduler The scheduler to call the function.
+     * @param function A function to map the current value into another value.
+     * @return The mapped promise.
+     */
+    DoublePromise then(Scheduler scheduler, DoubleMapFunction function);
+
+    /**
+     * Returns a new transformed promise specified by the function upon the completion of this promise.
+     * @param scheduler The scheduler to call the function.
+     * @param function A function to transform the current value or error into another value or error.
+     * @return The transformed promise.
+     */
+    DoublePromise then(Scheduler scheduler, DoubleTransformFunction function);
+}
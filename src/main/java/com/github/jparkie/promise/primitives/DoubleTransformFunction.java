@@ -0,0 +1,7 @@
+package com.github.jparkie.promise.primitives;
+
+public abstract class DoubleTransformFunction {
+    public abstract double transformSuccess(double value);
+
+    public abstract Throwable transformThrowable(Throwable error);
+}
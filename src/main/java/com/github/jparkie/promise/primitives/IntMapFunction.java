@@ -0,0 +1,5 @@
+package com.github.jparkie.promise.primitives;
+
+public abstract class IntMapFunction {
+    public abstract int map(int value);
+}
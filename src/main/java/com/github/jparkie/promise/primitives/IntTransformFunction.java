@@ -0,0 +1,7 @@
+package com.github.jparkie.promise.primitives;
+
+public abstract class IntTransformFunction {
+    public abstract int transformSuccess(int value);
+
+    public abstract Throwable transformThrowable(Throwable error);
+}
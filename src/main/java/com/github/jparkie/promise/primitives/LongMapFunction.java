@@ -0,0 +1,5 @@
+package com.github.jparkie.promise.primitives;
+
+public abstract class LongMapFunction {
+    public abstract long map(long value);
+}
@@ -0,0 +1,7 @@
+package com.github.jparkie.promise.primitives;
+
+public abstract class LongTransformFunction {
+    public abstract long transformSuccess(long value);
+
+    public abstract Throwable transformThrowable(Throwable error);
+}
@@ -0,0 +1,213 @@
+package com.github.jparkie.promise.primitives;
+
+import com.github.jparkie.promise.Action;
+import com.github.jparkie.promise.Promise;
+import com.github.jparkie.promise.Scheduler;
+
+/**
+ * A companion class for {@link IntPromise}, {@link LongPromise}, and {@link DoublePromise}.
+ *
+ * Provides various methods for creating primitive-specialized promises.
+ */
+public final class PrimitivePromises {
+    private PrimitivePromises() throws IllegalAccessException {
+        throw new IllegalAccessException();
+    }
+
+    /**
+     * Returns a new unresolved promise of an int.
+     * @return The unresolved promise.
+     */
+    public static IntPromise intPromise() {
+        return new DefaultIntPromise();
+    }
+
+    /**
+     * Returns a new promise which wraps the provided int.
+     * @param value The value to lift into a promise.
+     * @return The new promise.
+     */
+    public static IntPromise intValue(int value) {
+        final IntPromise promise = new DefaultIntPromise();
+        promise.setInt(value);
+        return promise;
+    }
+
+    /**
+     * Returns a new promise of an int which wraps the provided error.
+     * @param error The error to lift into a promise.
+     * @return The new promise.
+     */
+    public static IntPromise intError(Throwable error) {
+        final IntPromise promise = new DefaultIntPromise();
+        promise.setError(error);
+        return promise;
+    }
+
+    /**
+     * Returns a promise of an int which mirrors the provided boxed promise.
+     * The value is unboxed once upon completion. The cancellation of the boxed promise
+     * cancels the returned promise. If the boxed promise completes with null,
+     *  the returned promise fails with a {@link NullPointerException}.
+     * @param scheduler The scheduler under which to operate.
+     * @param promise The boxed promise to convert.
+     * @return The provided promise if already an IntPromise, else, the new promise.
+     */
+    public static IntPromise toIntPromise(Scheduler scheduler, Promise<Integer> promise) {
+        if (promise instanceof IntPromise) {
+            return (IntPromise) promise;
+        }
+
+        final IntPromise intPromise = new DefaultIntPromise();
+        promise.then(scheduler, new ConvertAction<Integer>(intPromise) {
+            @Override
+            void set(Integer value) {
+                intPromise.setInt(value);
+            }
+        });
+
+        return intPromise;
+    }
+
+    /**
+     * Returns a new unresolved promise of a long.
+     * @return The unresolved promise.
+     */
+    public static LongPromise longPromise() {
+        return new DefaultLongPromise();
+    }
+
+    /**
+     * Returns a new promise which wraps the provided long.
+     * @param value The value to lift into a promise.
+     * @return The new promise.
+     */
+    public static LongPromise longValue(long value) {
+        final LongPromise promise = new DefaultLongPromise();
+        promise.setLong(value);
+        return promise;
+    }
+
+    /**
+     * Returns a new promise of a long which wraps the provided error.
+     * @param error The error to lift into a promise.
+     * @return The new promise.
+     */
+    public static LongPromise longError(Throwable error) {
+        final LongPromise promise = new DefaultLongPromise();
+        promise.setError(error);
+        return promise;
+    }
+
+    /**
+     * Returns a promise of a long which mirrors the provided boxed promise.
+     * The value is unboxed once upon completion. The cancellation of the boxed promise
+     * cancels the returned promise. If the boxed promise completes with null,
+     *  the returned promise fails with a {@link NullPointerException}.
+     * @param scheduler The scheduler under which to operate.
+     * @param promise The boxed promise to convert.
+     * @return The provided promise if already a LongPromise, else, the new promise.
+     */
+    public static LongPromise toLongPromise(Scheduler scheduler, Promise<Long> promise) {
+        if (promise instanceof LongPromise) {
+            return (LongPromise) promise;
+        }
+
+        final LongPromise longPromise = new DefaultLongPromise();
+        promise.then(scheduler, new ConvertAction<Long>(longPromise) {
+            @Override
+            void set(Long value) {
+                longPromise.setLong(value);
+            }
+        });
+
+        return longPromise;
+    }
+
+    /**
+     * Returns a new unresolved promise of a double.
+     * @return The unresolved promise.
+     */
+    public static DoublePromise doublePromise() {
+        return new DefaultDoublePromise();
+    }
+
+    /**
+     * Returns a new promise which wraps the provided double.
+     * @param value The value to lift into a promise.
+     * @return The new promise.
+     */
+    public static DoublePromise doubleValue(double value) {
+        final DoublePromise promise = new DefaultDoublePromise();
+        promise.setDouble(value);
+        return promise;
+    }
+
+    /**
+     * Returns a new promise of a double which wraps the provided error.
+     * @param error The error to lift into a promise.
+     * @return The new promise.
+     */
+    public static DoublePromise doubleError(Throwable error) {
+        final DoublePromise promise = new DefaultDoublePromise();
+        promise.setError(error);
+        return promise;
+    }
+
+    /**
+     * Returns a promise of a double which mirrors the provided boxed promise.
+     * The value is unboxed once upon completion. The cancellation of the boxed promise
+     * cancels the returned promise. If the boxed promise completes with null,
+     *  the returned promise fails with a {@link NullPointerException}.
+     * @param scheduler The scheduler under which to operate.
+     * @param promise The boxed promise to convert.
+     * @return The provided promise if already a DoublePromise, else, the new promise.
+     */
+    public static DoublePromise toDoublePromise(Scheduler scheduler, Promise<Double> promise) {
+        if (promise instanceof DoublePromise) {
+            return (DoublePromise) promise;
+        }
+
+        final DoublePromise doublePromise = new DefaultDoublePromise();
+        promise.then(scheduler, new ConvertAction<Double>(doublePromise) {
+            @Override
+            void set(Double value) {
+                doublePromise.setDouble(value);
+            }
+        });
+
+        return doublePromise;
+    }
+
+    private abstract static class ConvertAction<T> implements Action<T> {
+        private final Promise<T> convertedPromise;
+
+        private ConvertAction(Promise<T> convertedPromise) {
+            this.convertedPromise = convertedPromise;
+        }
+
+        @Override
+        public void call(Promise<T> promise) {
+            if (promise.isSuccessful()) {
+                final T value = promise.get();
+                if (value == null) {
+                    convertedPromise.setError(new NullPointerException("value must not be null"));
+                    return;
+                }
+
+                set(value);
+            } else {
+                convertedPromise.setError(promise.getError());
+            }
+        }
+
+        @Override
+        public void cancel() {
+            if (!convertedPromise.isCancelled()) {
+                convertedPromise.cancel();
+            }
+        }
+
+        abstract void set(T value);
+    }
+}
@@ -0,0 +1,119 @@
+package com.github.jparkie.promise.extras;
+
+import com.github.jparkie.promise.Action;
+import com.github.jparkie.promise.Promise;
+import com.github.jparkie.promise.Promises;
+import com.github.jparkie.promise.Scheduler;
+import com.github.jparkie.promise.Schedulers;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * A helper class for bridging {@link Promise} and {@link CompletionStage}.
+ *
+ * The adapters complete inline on the completing thread; no executor is involved.
+ * Cancellation propagates in both directions.
+ */
+public final class CompletionStages {
+    private static final Scheduler INLINE_SCHEDULER = Schedulers.newSimpleScheduler();
+
+    private CompletionStages() throws IllegalAccessException {
+        throw new IllegalAccessException();
+    }
+
+    /**
+     * Returns a CompletableFuture which completes upon the completion of the provided promise.
+     *
+     * If the provided promise cancels,
+     *  the future cancels.
+     * If the future cancels,
+     *  the provided promise cancels.
+     *
+     * @param promise The promise to expose.
+     * @param <T> The type of the value promised to be available now, or in the future, or never.
+     * @return The future of the provided promise.
+     */
+    public static <T> CompletableFuture<T> toCompletionStage(final Promise<T> promise) {
+        final CompletableFuture<T> future = new CompletableFuture<T>() {
+            @Override
+            public boolean cancel(boolean mayInterruptIfRunning) {
+                final boolean cancelFlag = super.cancel(mayInterruptIfRunning);
+                if (cancelFlag && !promise.isCancelled()) {
+                    promise.cancel();
+                }
+
+                return cancelFlag;
+            }
+        };
+        promise.then(INLINE_SCHEDULER, new Action<T>() {
+            @Override
+            public void call(Promise<T> promise) {
+                if (promise.isSuccessful()) {
+                    future.complete(promise.get());
+                } else {
+                    future.completeExceptionally(promise.getError());
+                }
+            }
+
+            @Override
+            public void cancel() {
+                future.cancel(false);
+            }
+        });
+
+        return future;
+    }
+
+    /**
+     * Returns a promise which completes upon the completion of the provided stage.
+     *
+     * If the provided stage cancels,
+     *  the promise cancels.
+     * If the promise cancels,
+     *  the provided stage cancels when it supports toCompletableFuture().
+     *
+     * @param stage The stage to wrap.
+     * @param <T> The type of the value promised to be available now, or in the future, or never.
+     * @return The promise of the provided stage.
+     */
+    public static <T> Promise<T> fromCompletionStage(final CompletionStage<T> stage) {
+        final Promise<T> promise = Promises.promise();
+        promise.then(INLINE_SCHEDULER, new Action<T>() {
+            @Override
+            public void call(Promise<T> promise) {
+                // Do Nothing.
+            }
+
+            @Override
+            public void cancel() {
+                try {
+                    stage.toCompletableFuture().cancel(false);
+                } catch (UnsupportedOperationException e) {
+                    // Do Nothing.
+                }
+            }
+        });
+        stage.whenComplete((value, error) -> {
+            if (error == null) {
+                promise.set(value);
+                return;
+            }
+
+            final Throwable cause = error instanceof CompletionException && error.getCause() != null
+                    ? error.getCause()
+                    : error;
+            if (cause instanceof CancellationException) {
+                if (!promise.isCancelled()) {
+                    promise.cancel();
+                }
+            } else {
+                promise.setError(cause);
+            }
+        });
+
+        return promise;
+    }
+}
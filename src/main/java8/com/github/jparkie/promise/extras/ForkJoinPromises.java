@@ -0,0 +1,128 @@
+package com.github.jparkie.promise.extras;
+
+import com.github.jparkie.promise.Promise;
+import com.github.jparkie.promise.Promises;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A companion class for computing promises with fork-join tasks.
+ *
+ * Provides various methods for running CPU-bound work as fork-join subtasks on a work-stealing
+ * {@link ForkJoinPool}, completing a single promise without blocking the caller.
+ */
+public final class ForkJoinPromises {
+    private ForkJoinPromises() throws IllegalAccessException {
+        throw new IllegalAccessException();
+    }
+
+    /**
+     * Returns a new promise of the values mapped from the provided elements, computed as fork-join subtasks.
+     *
+     * The elements are split recursively in halves until a chunk has at most grainSize elements; both halves
+     * are subtasks of the pool, so idle workers steal the pending halves of busy ones. Each chunk is mapped
+     * synchronously, and its values are written into one pre-sized array; thus, no promise is created per element.
+     *
+     * If the mapper throws,
+     *  the new promise fails with its exception, and the pending subtasks may be cancelled.
+     * If the new promise cancels,
+     *  the remaining chunks are skipped.
+     *
+     * @param pool The pool to run the subtasks, such as {@link ForkJoinPool#commonPool()}.
+     * @param elements The elements to map.
+     * @param mapper The mapper to transform an element into a value.
+     * @param grainSize The maximum number of elements of a chunk.
+     * @param <T> The type of the elements.
+     * @param <U> The type of the value promised to be available now, or in the future, or never.
+     * @return The new promise of the mapped values in the order of the elements.
+     */
+    public static <T, U> Promise<List<U>> parallelMap(ForkJoinPool pool, List<T> elements, Mapper<T, U> mapper, int grainSize) {
+        if (grainSize < 1) {
+            throw new IllegalArgumentException("grainSize must be positive: " + grainSize);
+        }
+
+        final Promise<List<U>> parallelPromise = Promises.promise();
+        if (elements.isEmpty()) {
+            parallelPromise.set(Collections.<U>emptyList());
+            return parallelPromise;
+        }
+
+        pool.execute(new RootTask<T, U>(new MapTask<T, U>(parallelPromise, elements, mapper, grainSize, 0, elements.size())));
+
+        return parallelPromise;
+    }
+
+    private static final class RootTask<T, U> extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final MapTask<T, U> mapTask;
+
+        private RootTask(MapTask<T, U> mapTask) {
+            this.mapTask = mapTask;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        protected void compute() {
+            try {
+                mapTask.invoke();
+            } catch (RuntimeException e) {
+                mapTask.parallelPromise.setError(e);
+                return;
+            }
+
+            if (!mapTask.parallelPromise.isCancelled()) {
+                mapTask.parallelPromise.set(Arrays.asList((U[]) mapTask.values));
+            }
+        }
+    }
+
+    private static final class MapTask<T, U> extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Promise<List<U>> parallelPromise;
+        private final List<T> elements;
+        private final Mapper<T, U> mapper;
+        private final int grainSize;
+        private final Object[] values;
+        private final int fromIndex;
+        private final int toIndex;
+
+        private MapTask(Promise<List<U>> parallelPromise, List<T> elements, Mapper<T, U> mapper, int grainSize, int fromIndex, int toIndex) {
+            this(parallelPromise, elements, mapper, grainSize, new Object[elements.size()], fromIndex, toIndex);
+        }
+
+        private MapTask(Promise<List<U>> parallelPromise, List<T> elements, Mapper<T, U> mapper, int grainSize, Object[] values, int fromIndex, int toIndex) {
+            this.parallelPromise = parallelPromise;
+            this.elements = elements;
+            this.mapper = mapper;
+            this.grainSize = grainSize;
+            this.values = values;
+            this.fromIndex = fromIndex;
+            this.toIndex = toIndex;
+        }
+
+        @Override
+        protected void compute() {
+            if (parallelPromise.isCancelled()) {
+                return;
+            }
+
+            if (toIndex - fromIndex > grainSize) {
+                final int middleIndex = (fromIndex + toIndex) >>> 1;
+                invokeAll(
+                        new MapTask<T, U>(parallelPromise, elements, mapper, grainSize, values, fromIndex, middleIndex),
+                        new MapTask<T, U>(parallelPromise, elements, mapper, grainSize, values, middleIndex, toIndex));
+                return;
+            }
+
+            for (int index = fromIndex; index < toIndex; index++) {
+                values[index] = mapper.map(elements.get(index));
+            }
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.github.jparkie.promise.io;
+
+import com.github.jparkie.promise.Promise;
+import com.github.jparkie.promise.Promises;
+import com.github.jparkie.promise.extras.AsyncIterator;
+import com.github.jparkie.promise.failures.Failures;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+
+/**
+ * A file whose positional reads and writes return promises.
+ *
+ * The operations are performed by an {@link AsynchronousFileChannel}, and their promises are completed inline
+ * by the completion handlers of the channel; thus, no scheduler worker is blocked by the I/O.
+ *
+ * The pooled reads fill buffers acquired from the {@link BufferPool} of the file. The consumer of a pooled
+ * buffer owns it and should release it back to the pool once consumed.
+ */
+public final class AsyncFile implements Closeable {
+    private static final CompletionHandler<Integer, Promise<Integer>> COMPLETION_HANDLER = new CompletionHandler<Integer, Promise<Integer>>() {
+        @Override
+        public void completed(Integer result, Promise<Integer> promise) {
+            promise.set(result);
+        }
+
+        @Override
+        public void failed(Throwable error, Promise<Integer> promise) {
+            promise.setError(error);
+        }
+    };
+
+    private final AsynchronousFileChannel channel;
+    private final BufferPool bufferPool;
+
+    private AsyncFile(AsynchronousFileChannel channel, BufferPool bufferPool) {
+        this.channel = channel;
+        this.bufferPool = bufferPool;
+    }
+
+    /**
+     * Opens the file at the path.
+     * @param path The path of the file.
+     * @param bufferPool The pool of the buffers of the pooled reads.
+     * @param options The options of {@link AsynchronousFileChannel#open(Path, OpenOption...)}.
+     * @return The opened file.
+     * @throws IOException If the file cannot be opened, an exception is thrown.
+     */
+    public static AsyncFile open(Path path, BufferPool bufferPool, OpenOption... options) throws IOException {
+        return new AsyncFile(AsynchronousFileChannel.open(path, options), bufferPool);
+    }
+
+    /**
+     * Returns a new promise of the number of bytes read into the buffer from the position.
+     * @param buffer The buffer to read into.
+     * @param position The position of the file to read from.
+     * @return The new promise of the number of bytes read, or -1 at the end of the file.
+     */
+    public Promise<Integer> read(ByteBuffer buffer, long position) {
+        final Promise<Integer> readPromise = Promises.promise();
+        try {
+            channel.read(buffer, position, readPromise, COMPLETION_HANDLER);
+        } catch (RuntimeException e) {
+            readPromise.setError(e);
+        }
+        return readPromise;
+    }
+
+    /**
+     * Returns a new promise of the number of bytes written from the buffer at the position.
+     * @param buffer The buffer to write from.
+     * @param position The position of the file to write at.
+     * @return The new promise of the number of bytes written.
+     */
+    public Promise<Integer> write(ByteBuffer buffer, long position) {
+        final Promise<Integer> writePromise = Promises.promise();
+        try {
+            channel.write(buffer, position, writePromise, COMPLETION_HANDLER);
+        } catch (RuntimeException e) {
+            writePromise.setError(e);
+        }
+        return writePromise;
+    }
+
+    /**
+     * Returns a new promise of a pooled buffer filled from the position, flipped for reading.
+     *
+     * The buffer is filled until it is full or until the end of the file.
+     *
+     * If the position is at or beyond the end of the file,
+     *  the new promise fails with a {@link com.github.jparkie.promise.failures.EndOfStreamException}.
+     * If the read fails, including synchronously, or the new promise cancels before the buffer is delivered,
+     *  the buffer is released back to the pool.
+     * @param position The position of the file to read from.
+     * @return The new promise of the filled buffer.
+     */
+    public Promise<ByteBuffer> read(long position) {
+        return fill(position).getPromise();
+    }
+
+    /**
+     * Returns a new iterator of the pooled buffers of the whole file, in order.
+     *
+     * At most readAhead chunks are read ahead of the consumer, whether outstanding or buffered.
+     * The end of the file is signalled by a promise failed with
+     *  a {@link com.github.jparkie.promise.failures.EndOfStreamException}.
+     * If the iterator cancels,
+     *  the chunks read ahead are cancelled and their buffers are released back to the pool.
+     * @param readAhead The maximum number of chunks read ahead.
+     * @return The new iterator of the chunks.
+     * @throws IOException If the size of the file cannot be read, an exception is thrown.
+     */
+    public AsyncIterator<ByteBuffer> chunks(int readAhead) throws IOException {
+        if (readAhead < 1) {
+            throw new IllegalArgumentException("readAhead must be positive: " + readAhead);
+        }
+
+        return new ChunkIterator(channel.size(), readAhead);
+    }
+
+    /**
+     * Returns the current size of the file.
+     * @return The size of the file in bytes.
+     * @throws IOException If the size of the file cannot be read, an exception is thrown.
+     */
+    public long size() throws IOException {
+        return channel.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private FillContext fill(long position) {
+        final FillContext fillContext = new FillContext(bufferPool.acquire(), position);
+        fillContext.read();
+        return fillContext;
+    }
+
+    private final class FillContext extends Handoff<ByteBuffer> implements CompletionHandler<Integer, Void> {
+        private final ByteBuffer buffer;
+        private final long position;
+
+        private FillContext(ByteBuffer buffer, long position) {
+            this.buffer = buffer;
+            this.position = position;
+        }
+
+        private void read() {
+            try {
+                channel.read(buffer, position + buffer.position(), null, this);
+            } catch (RuntimeException e) {
+                failed(e, null);
+            }
+        }
+
+        @Override
+        public void completed(Integer result, Void attachment) {
+            if (result >= 0 && buffer.hasRemaining() && !getPromise().isCancelled()) {
+                read();
+                return;
+            }
+
+            if (buffer.position() == 0) {
+                failed(Failures.endOfStream(), null);
+                return;
+            }
+
+            buffer.flip();
+            produce(buffer);
+        }
+
+        @Override
+        public void failed(Throwable error, Void attachment) {
+            bufferPool.release(buffer);
+            fail(error);
+        }
+
+        @Override
+        void release(ByteBuffer buffer) {
+            bufferPool.release(buffer);
+        }
+    }
+
+    private final class ChunkIterator implements AsyncIterator<ByteBuffer> {
+        private final ArrayDeque<FillContext> readAheadContexts = new ArrayDeque<FillContext>();
+        private final long size;
+        private final int readAhead;
+
+        private long nextPosition;
+        private boolean cancelFlag;
+
+        private ChunkIterator(long size, int readAhead) {
+            this.size = size;
+            this.readAhead = readAhead;
+        }
+
+        @Override
+        public synchronized Promise<ByteBuffer> next() {
+            if (cancelFlag) {
+                final Promise<ByteBuffer> cancelPromise = Promises.promise();
+                cancelPromise.cancel();
+                return cancelPromise;
+            }
+
+            fillAhead();
+            final FillContext fillContext = readAheadContexts.poll();
+            if (fillContext == null) {
+                return Promises.error(Failures.endOfStream());
+            }
+
+            fillAhead();
+            return fillContext.getPromise();
+        }
+
+        @Override
+        public synchronized void cancel() {
+            cancelFlag = true;
+            for (FillContext fillContext : readAheadContexts) {
+                fillContext.getPromise().cancel();
+                fillContext.abandon();
+            }
+            readAheadContexts.clear();
+        }
+
+        private void fillAhead() {
+            while (readAheadContexts.size() < readAhead && nextPosition < size) {
+                readAheadContexts.add(fill(nextPosition));
+                nextPosition += bufferPool.getBufferSize();
+            }
+        }
+    }
+}
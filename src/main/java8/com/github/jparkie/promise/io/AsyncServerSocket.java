@@ -0,0 +1,90 @@
+package com.github.jparkie.promise.io;
+
+import com.github.jparkie.promise.Promise;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.nio.channels.AsynchronousChannelGroup;
+import java.nio.channels.AsynchronousServerSocketChannel;
+import java.nio.channels.AsynchronousSocketChannel;
+import java.nio.channels.CompletionHandler;
+
+/**
+ * A server socket whose accepts return promises of {@link AsyncSocket}.
+ *
+ * At most one accept may be outstanding at a time; another accept fails its promise with
+ * an {@link java.nio.channels.AcceptPendingException}. Cancelling a promise does not abort its accept.
+ */
+public final class AsyncServerSocket implements Closeable {
+    private final AsynchronousServerSocketChannel channel;
+    private final BufferPool bufferPool;
+
+    private AsyncServerSocket(AsynchronousServerSocketChannel channel, BufferPool bufferPool) {
+        this.channel = channel;
+        this.bufferPool = bufferPool;
+    }
+
+    /**
+     * Opens a server socket bound to the address.
+     * @param group The channel group of the server socket and its sockets, or null for the default channel group.
+     * @param address The address to bind to, or null for an ephemeral address.
+     * @param bufferPool The pool of the buffers of the pooled reads of the accepted sockets.
+     * @return The bound server socket.
+     * @throws IOException If the server socket cannot be bound, an exception is thrown.
+     */
+    public static AsyncServerSocket bind(AsynchronousChannelGroup group, SocketAddress address, BufferPool bufferPool) throws IOException {
+        return new AsyncServerSocket(AsynchronousServerSocketChannel.open(group).bind(address), bufferPool);
+    }
+
+    /**
+     * Returns a new promise of the next accepted socket.
+     *
+     * If the accept fails, including synchronously,
+     *  the new promise fails with its exception.
+     * If the new promise cancels before the socket is delivered,
+     *  the socket accepted afterwards is closed.
+     * @return The new promise of the accepted socket.
+     */
+    public Promise<AsyncSocket> accept() {
+        final AcceptContext acceptContext = new AcceptContext();
+        try {
+            channel.accept(null, acceptContext);
+        } catch (RuntimeException e) {
+            acceptContext.fail(e);
+        }
+
+        return acceptContext.getPromise();
+    }
+
+    /**
+     * Returns the address to which the server socket is bound.
+     * @return The bound address.
+     * @throws IOException If the address cannot be read, an exception is thrown.
+     */
+    public SocketAddress getLocalAddress() throws IOException {
+        return channel.getLocalAddress();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private final class AcceptContext extends Handoff<AsyncSocket> implements CompletionHandler<AsynchronousSocketChannel, Void> {
+        @Override
+        public void completed(AsynchronousSocketChannel result, Void attachment) {
+            produce(AsyncSocket.wrap(result, bufferPool));
+        }
+
+        @Override
+        public void failed(Throwable error, Void attachment) {
+            fail(error);
+        }
+
+        @Override
+        void release(AsyncSocket socket) {
+            AsyncSocket.closeQuietly(socket.getChannel());
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.github.jparkie.promise.io;
+
+import com.github.jparkie.promise.Promise;
+import com.github.jparkie.promise.Promises;
+import com.github.jparkie.promise.failures.Failures;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousChannelGroup;
+import java.nio.channels.AsynchronousSocketChannel;
+import java.nio.channels.CompletionHandler;
+
+/**
+ * A socket whose connect, reads, and writes return promises.
+ *
+ * The operations are performed by an {@link AsynchronousSocketChannel}, and their promises are completed inline
+ * by the completion handlers of the channel; thus, a small channel group drives many sockets without
+ * blocking a thread per connection.
+ *
+ * At most one read and one write may be outstanding at a time; another read or write fails its promise with
+ * a {@link java.nio.channels.ReadPendingException} or a {@link java.nio.channels.WritePendingException}.
+ * The pooled reads fill buffers acquired from the {@link BufferPool} of the socket; the consumer of a pooled
+ * buffer should release it back to the pool. Cancelling a promise does not abort its operation;
+ * close the socket to abort the outstanding operations.
+ */
+public final class AsyncSocket implements Closeable {
+    private static final CompletionHandler<Integer, Promise<Integer>> COMPLETION_HANDLER = new CompletionHandler<Integer, Promise<Integer>>() {
+        @Override
+        public void completed(Integer result, Promise<Integer> promise) {
+            promise.set(result);
+        }
+
+        @Override
+        public void failed(Throwable error, Promise<Integer> promise) {
+            promise.setError(error);
+        }
+    };
+
+    private final AsynchronousSocketChannel channel;
+    private final BufferPool bufferPool;
+
+    private AsyncSocket(AsynchronousSocketChannel channel, BufferPool bufferPool) {
+        this.channel = channel;
+        this.bufferPool = bufferPool;
+    }
+
+    /**
+     * Returns a new socket over the connected channel.
+     * @param channel The connected channel.
+     * @param bufferPool The pool of the buffers of the pooled reads.
+     * @return The new socket.
+     */
+    public static AsyncSocket wrap(AsynchronousSocketChannel channel, BufferPool bufferPool) {
+        return new AsyncSocket(channel, bufferPool);
+    }
+
+    /**
+     * Returns a new promise of a socket connected to the address, within the default channel group.
+     * @param address The address to connect to.
+     * @param bufferPool The pool of the buffers of the pooled reads.
+     * @return The new promise of the connected socket.
+     */
+    public static Promise<AsyncSocket> connect(SocketAddress address, BufferPool bufferPool) {
+        return connect(null, address, bufferPool);
+    }
+
+    /**
+     * Returns a new promise of a socket connected to the address, within the channel group.
+     * @param group The channel group of the socket, or null for the default channel group.
+     * @param address The address to connect to.
+     * @param bufferPool The pool of the buffers of the pooled reads.
+     * @return The new promise of the connected socket.
+     */
+    public static Promise<AsyncSocket> connect(AsynchronousChannelGroup group, SocketAddress address, BufferPool bufferPool) {
+        final AsynchronousSocketChannel channel;
+        try {
+            channel = AsynchronousSocketChannel.open(group);
+        } catch (IOException e) {
+            return Promises.error(e);
+        }
+
+        final ConnectContext connectContext = new ConnectContext(channel, bufferPool);
+        try {
+            channel.connect(address, null, connectContext);
+        } catch (RuntimeException e) {
+            connectContext.failed(e, null);
+        }
+
+        return connectContext.getPromise();
+    }
+
+    /**
+     * Returns a new promise of the number of bytes read into the buffer.
+     * @param buffer The buffer to read into.
+     * @return The new promise of the number of bytes read, or -1 at the end of the stream.
+     */
+    public Promise<Integer> read(ByteBuffer buffer) {
+        final Promise<Integer> readPromise = Promises.promise();
+        try {
+            channel.read(buffer, readPromise, COMPLETION_HANDLER);
+        } catch (RuntimeException e) {
+            readPromise.setError(e);
+        }
+        return readPromise;
+    }
+
+    /**
+     * Returns a new promise of a pooled buffer with the bytes of one read, flipped for reading.
+     *
+     * If the stream ends,
+     *  the new promise fails with a {@link com.github.jparkie.promise.failures.EndOfStreamException}.
+     * If the read fails, including synchronously, or the new promise cancels before the buffer is delivered,
+     *  the buffer is released back to the pool.
+     * @return The new promise of the read buffer.
+     */
+    public Promise<ByteBuffer> read() {
+        final ReadContext readContext = new ReadContext(bufferPool.acquire());
+        try {
+            channel.read(readContext.buffer, null, readContext);
+        } catch (RuntimeException e) {
+            readContext.failed(e, null);
+        }
+
+        return readContext.getPromise();
+    }
+
+    /**
+     * Returns a new promise of the number of bytes written from the buffer in one write.
+     * @param buffer The buffer to write from.
+     * @return The new promise of the number of bytes written.
+     */
+    public Promise<Integer> write(ByteBuffer buffer) {
+        final Promise<Integer> writePromise = Promises.promise();
+        try {
+            channel.write(buffer, writePromise, COMPLETION_HANDLER);
+        } catch (RuntimeException e) {
+            writePromise.setError(e);
+        }
+        return writePromise;
+    }
+
+    /**
+     * Returns a new promise of the number of bytes written once all the remaining bytes of the buffer are written.
+     * @param buffer The buffer to write from.
+     * @return The new promise of the number of bytes written.
+     */
+    public Promise<Integer> writeFully(final ByteBuffer buffer) {
+        final Promise<Integer> writePromise = Promises.promise();
+        final int remaining = buffer.remaining();
+        final CompletionHandler<Integer, Void> writeHandler = new CompletionHandler<Integer, Void>() {
+            @Override
+            public void completed(Integer result, Void attachment) {
+                if (buffer.hasRemaining()) {
+                    try {
+                        channel.write(buffer, null, this);
+                    } catch (RuntimeException e) {
+                        writePromise.setError(e);
+                    }
+                    return;
+                }
+
+                writePromise.set(remaining);
+            }
+
+            @Override
+            public void failed(Throwable error, Void attachment) {
+                writePromise.setError(error);
+            }
+        };
+        try {
+            channel.write(buffer, null, writeHandler);
+        } catch (RuntimeException e) {
+            writePromise.setError(e);
+        }
+
+        return writePromise;
+    }
+
+    /**
+     * Returns the underlying channel of the socket.
+     * @return The underlying channel.
+     */
+    public AsynchronousSocketChannel getChannel() {
+        return channel;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    static void closeQuietly(AsynchronousSocketChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // Do Nothing.
+        }
+    }
+
+    private static final class ConnectContext extends Handoff<AsyncSocket> implements CompletionHandler<Void, Void> {
+        private final AsynchronousSocketChannel channel;
+        private final BufferPool bufferPool;
+
+        private ConnectContext(AsynchronousSocketChannel channel, BufferPool bufferPool) {
+            this.channel = channel;
+            this.bufferPool = bufferPool;
+        }
+
+        @Override
+        public void completed(Void result, Void attachment) {
+            produce(new AsyncSocket(channel, bufferPool));
+        }
+
+        @Override
+        public void failed(Throwable error, Void attachment) {
+            closeQuietly(channel);
+            fail(error);
+        }
+
+        @Override
+        void release(AsyncSocket socket) {
+            closeQuietly(socket.channel);
+        }
+    }
+
+    private final class ReadContext extends Handoff<ByteBuffer> implements CompletionHandler<Integer, Void> {
+        private final ByteBuffer buffer;
+
+        private ReadContext(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public void completed(Integer result, Void attachment) {
+            if (result < 0) {
+                failed(Failures.endOfStream(), null);
+                return;
+            }
+
+            buffer.flip();
+            produce(buffer);
+        }
+
+        @Override
+        public void failed(Throwable error, Void attachment) {
+            bufferPool.release(buffer);
+            fail(error);
+        }
+
+        @Override
+        void release(ByteBuffer buffer) {
+            bufferPool.release(buffer);
+        }
+    }
+}
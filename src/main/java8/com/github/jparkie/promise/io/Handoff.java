@@ -0,0 +1,95 @@
+package com.github.jparkie.promise.io;
+
+import com.github.jparkie.promise.Action;
+import com.github.jparkie.promise.Promise;
+import com.github.jparkie.promise.Promises;
+import com.github.jparkie.promise.Scheduler;
+import com.github.jparkie.promise.Schedulers;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The single owner of a resource which an asynchronous operation hands off through a promise.
+ *
+ * The handoff is registered as an action of its promise, so either its call() delivers the resource to the
+ * consumers of the promise, or its cancel() abandons the resource; never both. A compare-and-set of the state
+ * decides whether the operation or the abandonment releases a resource which is never delivered, even when
+ * the promise is cancelled while the operation completes it.
+ * @param <T> The type of the resource.
+ */
+abstract class Handoff<T> implements Action<T> {
+    private static final Scheduler INLINE_SCHEDULER = Schedulers.newSimpleScheduler();
+    private static final int PENDING = 0;
+    private static final int PRODUCED = 1;
+    private static final int ABANDONED = 2;
+    private static final int RELEASED = 3;
+
+    private final AtomicInteger state = new AtomicInteger(PENDING);
+    private final Promise<T> promise = Promises.promise();
+
+    private volatile T resource;
+
+    Handoff() {
+        promise.then(INLINE_SCHEDULER, this);
+    }
+
+    /**
+     * Returns the promise of the resource.
+     * @return The promise of the resource.
+     */
+    final Promise<T> getPromise() {
+        return promise;
+    }
+
+    /**
+     * Completes the promise with the resource, or releases the resource if the promise was abandoned.
+     * @param resource The resource produced by the operation.
+     */
+    final void produce(T resource) {
+        this.resource = resource;
+        if (!state.compareAndSet(PENDING, PRODUCED)) {
+            release(resource);
+            return;
+        }
+
+        promise.set(resource);
+    }
+
+    /**
+     * Fails the promise. The operation must have released its resource, if any.
+     * @param error The failure of the operation.
+     */
+    final void fail(Throwable error) {
+        state.set(RELEASED);
+        promise.setError(error);
+    }
+
+    /**
+     * Abandons the resource: releases it if already produced, else, leaves its release to the operation.
+     * Abandoning more than once has no further effect.
+     */
+    final void abandon() {
+        if (state.compareAndSet(PENDING, ABANDONED)) {
+            return;
+        }
+        if (state.compareAndSet(PRODUCED, RELEASED)) {
+            release(resource);
+        }
+    }
+
+    /**
+     * Releases a resource which is never delivered.
+     * @param resource The resource to release.
+     */
+    abstract void release(T resource);
+
+    @Override
+    public final void call(Promise<T> promise) {
+        // Do Nothing.
+    }
+
+    @Override
+    public final void cancel() {
+        abandon();
+    }
+}
@@ -0,0 +1,393 @@
+package com.github.jparkie.promise.extras;
+
+import com.github.jparkie.promise.Action;
+import com.github.jparkie.promise.Promise;
+import com.github.jparkie.promise.Promises;
+import com.github.jparkie.promise.Scheduler;
+import com.github.jparkie.promise.Schedulers;
+import com.github.jparkie.promise.failures.EndOfStreamException;
+import com.github.jparkie.promise.failures.Failures;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A helper class for bridging promises and {@link Flow}.
+ *
+ * The promises are pulled only upon the demand of the subscriber, and the subscription is requested only upon
+ * the demand of the consumer of the promises; thus, backpressure flows in both directions without unbounded
+ * buffering. Cancellation is mapped onto {@link Promise#cancel()} and {@link Flow.Subscription#cancel()}.
+ */
+public final class FlowAdapters {
+    private static final Scheduler INLINE_SCHEDULER = Schedulers.newSimpleScheduler();
+
+    private FlowAdapters() throws IllegalAccessException {
+        throw new IllegalAccessException();
+    }
+
+    /**
+     * Returns a publisher of the values of the provided promises, in the order of the promises.
+     *
+     * Each subscription iterates the promises anew. A promise is pulled only when the subscriber has demand,
+     * and at most one promise is outstanding at a time.
+     *
+     * If any of the provided promises fail,
+     *  the subscriber receives the failure.
+     * If any of the provided promises cancel,
+     *  the promise is skipped.
+     * If the subscription cancels,
+     *  the outstanding promise is cancelled.
+     *
+     * @param promises The promises to publish.
+     * @param <T> The type of the value promised to be available now, or in the future, or never.
+     * @return The new publisher.
+     */
+    public static <T> Flow.Publisher<T> toPublisher(final Iterable<Promise<T>> promises) {
+        return new Flow.Publisher<T>() {
+            @Override
+            public void subscribe(Flow.Subscriber<? super T> subscriber) {
+                final IteratorSubscription<T> subscription = new IteratorSubscription<T>(subscriber, new PromiseIterator<T>(promises.iterator()));
+                subscriber.onSubscribe(subscription);
+            }
+        };
+    }
+
+    /**
+     * Returns a publisher of the elements of the iterator, which may be subscribed only once.
+     *
+     * The next element is pulled only when the subscriber has demand. The end of the iterator completes the
+     * subscriber. Refer to {@link #toPublisher(Iterable)} for the semantics.
+     *
+     * @param iterator The iterator to publish.
+     * @param <T> The type of the elements.
+     * @return The new publisher.
+     */
+    public static <T> Flow.Publisher<T> toPublisher(final AsyncIterator<T> iterator) {
+        final AtomicBoolean subscribeFlag = new AtomicBoolean(false);
+        return new Flow.Publisher<T>() {
+            @Override
+            public void subscribe(Flow.Subscriber<? super T> subscriber) {
+                if (!subscribeFlag.compareAndSet(false, true)) {
+                    subscriber.onSubscribe(new Flow.Subscription() {
+                        @Override
+                        public void request(long n) {
+                            // Do Nothing.
+                        }
+
+                        @Override
+                        public void cancel() {
+                            // Do Nothing.
+                        }
+                    });
+                    subscriber.onError(new IllegalStateException("Publisher of an iterator can be subscribed only once."));
+                    return;
+                }
+
+                subscriber.onSubscribe(new IteratorSubscription<T>(subscriber, iterator));
+            }
+        };
+    }
+
+    /**
+     * Subscribes to the publisher and returns an iterator of its items as promises.
+     *
+     * Each call of next() requests one item from the subscription. The completion of the publisher is signalled
+     * by a promise failed with a {@link EndOfStreamException}; the failure of the publisher fails the pending
+     * and further promises.
+     *
+     * If the iterator, or any of its pending promises, cancels,
+     *  the subscription cancels and the pending promises are cancelled.
+     *
+     * @param publisher The publisher to subscribe to.
+     * @param <T> The type of the items.
+     * @return The new iterator of the items.
+     */
+    public static <T> AsyncIterator<T> toAsyncIterator(Flow.Publisher<T> publisher) {
+        final SubscriberIterator<T> iterator = new SubscriberIterator<T>();
+        publisher.subscribe(iterator);
+        return iterator;
+    }
+
+    private static final class PromiseIterator<T> implements AsyncIterator<T> {
+        private final Iterator<Promise<T>> iterator;
+
+        private PromiseIterator(Iterator<Promise<T>> iterator) {
+            this.iterator = iterator;
+        }
+
+        @Override
+        public Promise<T> next() {
+            if (!iterator.hasNext()) {
+                return Promises.error(Failures.endOfStream());
+            }
+
+            return iterator.next();
+        }
+
+        @Override
+        public void cancel() {
+            // Do Nothing.
+        }
+    }
+
+    private static final class IteratorSubscription<T> implements Flow.Subscription {
+        private final AtomicInteger drainCounter = new AtomicInteger(0);
+        private final AtomicLong requestedCounter = new AtomicLong(0);
+        private final Flow.Subscriber<? super T> subscriber;
+        private final AsyncIterator<T> iterator;
+        private final Action<T> completionAction = new Action<T>() {
+            @Override
+            public void call(Promise<T> promise) {
+                completedPromise = promise;
+                drain();
+            }
+
+            @Override
+            public void cancel() {
+                completedPromise = outstandingPromise;
+                drain();
+            }
+        };
+
+        private volatile boolean cancelFlag;
+        private volatile Promise<T> outstandingPromise;
+        private volatile Promise<T> completedPromise;
+        private volatile Throwable requestError;
+        private boolean doneFlag;
+
+        private IteratorSubscription(Flow.Subscriber<? super T> subscriber, AsyncIterator<T> iterator) {
+            this.subscriber = subscriber;
+            this.iterator = iterator;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                requestError = new IllegalArgumentException("n must be positive: " + n);
+            } else {
+                long requested;
+                do {
+                    requested = requestedCounter.get();
+                    if (requested == Long.MAX_VALUE) {
+                        break;
+                    }
+                } while (!requestedCounter.compareAndSet(requested, Long.MAX_VALUE - requested < n ? Long.MAX_VALUE : requested + n));
+            }
+
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelFlag = true;
+            drain();
+        }
+
+        private void drain() {
+            if (drainCounter.getAndIncrement() != 0) {
+                return;
+            }
+
+            int missedCounter = 1;
+            do {
+                drainOnce();
+                missedCounter = drainCounter.addAndGet(-missedCounter);
+            } while (missedCounter != 0);
+        }
+
+        private void drainOnce() {
+            while (!doneFlag) {
+                if (cancelFlag) {
+                    doneFlag = true;
+                    final Promise<T> promise = outstandingPromise;
+                    if (promise != null && !promise.isCancelled()) {
+                        promise.cancel();
+                    }
+                    iterator.cancel();
+                    return;
+                }
+                if (requestError != null) {
+                    doneFlag = true;
+                    iterator.cancel();
+                    subscriber.onError(requestError);
+                    return;
+                }
+
+                final Promise<T> promise = completedPromise;
+                if (promise != null) {
+                    completedPromise = null;
+                    outstandingPromise = null;
+                    if (promise.isCancelled()) {
+                        continue;
+                    }
+                    if (!promise.isSuccessful()) {
+                        doneFlag = true;
+                        if (promise.getError() instanceof EndOfStreamException) {
+                            subscriber.onComplete();
+                        } else {
+                            iterator.cancel();
+                            subscriber.onError(promise.getError());
+                        }
+                        return;
+                    }
+
+                    requestedCounter.decrementAndGet();
+                    subscriber.onNext(promise.get());
+                    continue;
+                }
+
+                if (outstandingPromise != null || requestedCounter.get() == 0) {
+                    return;
+                }
+
+                final Promise<T> nextPromise = iterator.next();
+                outstandingPromise = nextPromise;
+                nextPromise.then(INLINE_SCHEDULER, completionAction);
+            }
+        }
+    }
+
+    private static final class SubscriberIterator<T> implements Flow.Subscriber<T>, AsyncIterator<T> {
+        private final Object iteratorLock = new Object();
+        private final ArrayDeque<Promise<T>> pendingPromises = new ArrayDeque<Promise<T>>();
+        private final Action<T> cancelAction = new Action<T>() {
+            @Override
+            public void call(Promise<T> promise) {
+                // Do Nothing.
+            }
+
+            @Override
+            public void cancel() {
+                SubscriberIterator.this.cancel();
+            }
+        };
+
+        private Flow.Subscription subscription;
+        private long deferredDemand;
+        private Throwable terminalError;
+        private boolean cancelFlag;
+
+        private SubscriberIterator() {
+            // Do Nothing.
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            final long demand;
+            synchronized (iteratorLock) {
+                if (this.subscription != null || cancelFlag) {
+                    demand = -1;
+                } else {
+                    this.subscription = subscription;
+                    demand = deferredDemand;
+                    deferredDemand = 0;
+                }
+            }
+
+            if (demand < 0) {
+                subscription.cancel();
+            } else if (demand > 0) {
+                subscription.request(demand);
+            }
+        }
+
+        @Override
+        public void onNext(T item) {
+            final Promise<T> promise;
+            synchronized (iteratorLock) {
+                promise = pendingPromises.poll();
+            }
+
+            if (promise != null) {
+                promise.set(item);
+            }
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            terminate(error);
+        }
+
+        @Override
+        public void onComplete() {
+            terminate(Failures.endOfStream());
+        }
+
+        @Override
+        public Promise<T> next() {
+            final Promise<T> promise = Promises.promise();
+            final Flow.Subscription currentSubscription;
+            synchronized (iteratorLock) {
+                if (cancelFlag) {
+                    promise.cancel();
+                    return promise;
+                }
+                if (terminalError != null) {
+                    promise.setError(terminalError);
+                    return promise;
+                }
+
+                pendingPromises.add(promise);
+                currentSubscription = subscription;
+                if (currentSubscription == null) {
+                    deferredDemand++;
+                }
+            }
+
+            promise.then(INLINE_SCHEDULER, cancelAction);
+            if (currentSubscription != null) {
+                currentSubscription.request(1);
+            }
+
+            return promise;
+        }
+
+        @Override
+        public void cancel() {
+            final Flow.Subscription currentSubscription;
+            final List<Promise<T>> cancelledPromises;
+            synchronized (iteratorLock) {
+                if (cancelFlag) {
+                    return;
+                }
+
+                cancelFlag = true;
+                currentSubscription = subscription;
+                cancelledPromises = new ArrayList<Promise<T>>(pendingPromises);
+                pendingPromises.clear();
+            }
+
+            if (currentSubscription != null) {
+                currentSubscription.cancel();
+            }
+            for (Promise<T> promise : cancelledPromises) {
+                if (!promise.isCancelled()) {
+                    promise.cancel();
+                }
+            }
+        }
+
+        private void terminate(Throwable error) {
+            final List<Promise<T>> failedPromises;
+            synchronized (iteratorLock) {
+                if (terminalError != null) {
+                    return;
+                }
+
+                terminalError = error;
+                failedPromises = new ArrayList<Promise<T>>(pendingPromises);
+                pendingPromises.clear();
+            }
+
+            for (Promise<T> promise : failedPromises) {
+                promise.setError(error);
+            }
+        }
+    }
+}
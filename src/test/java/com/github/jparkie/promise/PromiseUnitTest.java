@@ -662,4 +662,157 @@ public class PromiseUnitTest {
         testAction = null;
         testMemoryLeakVerifier.assertGarbageCollected();
     }
+
+    @Test
+    public void testLoop1() {
+        final Promise<Integer> loopPromise = Promises.loop(
+                Schedulers.newSimpleScheduler(),
+                0,
+                new Predicate<Integer>() {
+                    @Override
+                    public boolean test(Integer value) {
+                        return value < 1000000;
+                    }
+                },
+                new Step<Integer>() {
+                    @Override
+                    public Promise<Integer> call(Integer state) {
+                        return Promises.value(state + 1);
+                    }
+                });
+
+        assertTrue(loopPromise.isSuccessful());
+        assertEquals(Integer.valueOf(1000000), loopPromise.get());
+    }
+
+    @Test
+    public void testLoop2() {
+        final Promise<Integer> loopPromise = Promises.loop(
+                Schedulers.newSimpleScheduler(),
+                0,
+                new Predicate<Integer>() {
+                    @Override
+                    public boolean test(Integer value) {
+                        return value < 5;
+                    }
+                },
+                new Step<Integer>() {
+                    @Override
+                    public Promise<Integer> call(final Integer state) {
+                        final Promise<Integer> pagePromise = Promises.promise();
+                        timer.schedule(new TimerTask() {
+                            @Override
+                            public void run() {
+                                pagePromise.set(state + 1);
+                            }
+                        }, 1);
+                        return pagePromise;
+                    }
+                });
+
+        try {
+            loopPromise.await(2, TimeUnit.SECONDS);
+
+            assertTrue(loopPromise.isSuccessful());
+            assertEquals(Integer.valueOf(5), loopPromise.get());
+        } catch (InterruptedException e) {
+            fail();
+        }
+    }
+
+    @Test
+    public void testLoop3() {
+        final Throwable error = new NoSuchElementException();
+        final Promise<Integer> pagePromise = Promises.promise();
+        final Promise<Integer> errorPromise = Promises.loop(
+                Schedulers.newSimpleScheduler(),
+                0,
+                new Predicate<Integer>() {
+                    @Override
+                    public boolean test(Integer value) {
+                        return true;
+                    }
+                },
+                new Step<Integer>() {
+                    @Override
+                    public Promise<Integer> call(Integer state) {
+                        return state < 3 ? Promises.value(state + 1) : Promises.<Integer>error(error);
+                    }
+                });
+        final Promise<Integer> cancelPromise = Promises.loop(
+                Schedulers.newSimpleScheduler(),
+                0,
+                new Predicate<Integer>() {
+                    @Override
+                    public boolean test(Integer value) {
+                        return true;
+                    }
+                },
+                new Step<Integer>() {
+                    @Override
+                    public Promise<Integer> call(Integer state) {
+                        return pagePromise;
+                    }
+                });
+
+        assertTrue(errorPromise.isDone());
+        assertEquals(error, errorPromise.getError());
+
+        cancelPromise.cancel();
+
+        assertTrue(pagePromise.isCancelled());
+    }
+
+    @Test
+    public void testLoop4() {
+        final IllegalStateException error = new IllegalStateException();
+        final Promise<Integer> pagePromise = Promises.promise();
+        final Promise<Integer> loopPromise = Promises.loop(
+                Schedulers.newSimpleScheduler(),
+                0,
+                new Predicate<Integer>() {
+                    @Override
+                    public boolean test(Integer value) {
+                        if (value > 0) {
+                            throw error;
+                        }
+                        return true;
+                    }
+                },
+                new Step<Integer>() {
+                    @Override
+                    public Promise<Integer> call(Integer state) {
+                        return pagePromise;
+                    }
+                });
+
+        assertFalse(loopPromise.isDone());
+
+        pagePromise.set(1);
+
+        assertTrue(loopPromise.isDone());
+        assertEquals(error, loopPromise.getError());
+    }
+
+    @Test
+    public void testLoop5() {
+        final Promise<Integer> loopPromise = Promises.loop(
+                Schedulers.newSimpleScheduler(),
+                0,
+                new Predicate<Integer>() {
+                    @Override
+                    public boolean test(Integer value) {
+                        return true;
+                    }
+                },
+                new Step<Integer>() {
+                    @Override
+                    public Promise<Integer> call(Integer state) {
+                        return null;
+                    }
+                });
+
+        assertTrue(loopPromise.isDone());
+        assertTrue(loopPromise.getError() instanceof NullPointerException);
+    }
 }
@@ -0,0 +1,170 @@
+package com.github.jparkie.promise.extras;
+
+import com.github.jparkie.promise.Action;
+import com.github.jparkie.promise.Promise;
+import com.github.jparkie.promise.Schedulers;
+import com.github.jparkie.promise.failures.ChannelClosedException;
+import com.github.jparkie.promise.failures.EndOfStreamException;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class AsyncChannelUnitTest {
+    @Test
+    public void testPutAndTake() {
+        final AsyncChannel<String> testChannel = new AsyncChannel<String>(2);
+
+        assertTrue(testChannel.put("FIRST").isSuccessful());
+        assertTrue(testChannel.offer("SECOND"));
+        assertFalse(testChannel.offer("THIRD"));
+
+        final Promise<Void> thirdPromise = testChannel.put("THIRD");
+
+        assertFalse(thirdPromise.isDone());
+        assertEquals(2, testChannel.size());
+        assertEquals("FIRST", testChannel.take().get());
+        assertTrue(thirdPromise.isSuccessful());
+        assertEquals("SECOND", testChannel.poll());
+        assertEquals("THIRD", testChannel.poll());
+        assertNull(testChannel.poll());
+
+        final Promise<String> takePromise = testChannel.take();
+
+        assertFalse(takePromise.isDone());
+
+        testChannel.offer("FOURTH");
+
+        assertTrue(takePromise.isSuccessful());
+        assertEquals("FOURTH", takePromise.get());
+    }
+
+    @Test
+    public void testDrainTo() {
+        final AsyncChannel<Integer> testChannel = new AsyncChannel<Integer>(3);
+        final List<Integer> items = new ArrayList<Integer>();
+        testChannel.offer(1);
+        testChannel.offer(2);
+        testChannel.offer(3);
+        final Promise<Void> fourthPromise = testChannel.put(4);
+
+        assertEquals(2, testChannel.drainTo(items, 2));
+        assertEquals(Arrays.asList(1, 2), items);
+        assertTrue(fourthPromise.isSuccessful());
+        assertEquals(2, testChannel.drainTo(items, 10));
+        assertEquals(Arrays.asList(1, 2, 3, 4), items);
+    }
+
+    @Test
+    public void testClose() {
+        final AsyncChannel<String> testChannel = new AsyncChannel<String>(1);
+        testChannel.offer("FIRST");
+        final Promise<Void> queuedPromise = testChannel.put("SECOND");
+
+        testChannel.close();
+
+        assertTrue(queuedPromise.getError() instanceof ChannelClosedException);
+        assertTrue(testChannel.put("THIRD").getError() instanceof ChannelClosedException);
+        assertEquals("FIRST", testChannel.take().get());
+        assertTrue(testChannel.take().getError() instanceof EndOfStreamException);
+    }
+
+    @Test
+    public void testCancel() {
+        final AsyncChannel<String> testChannel = new AsyncChannel<String>(1);
+        final Promise<String> cancelledPromise = testChannel.take();
+        final Promise<String> takePromise = testChannel.take();
+
+        cancelledPromise.cancel();
+        testChannel.offer("FIRST");
+
+        assertEquals("FIRST", takePromise.get());
+    }
+
+    @Test
+    public void testCancelPutRace() throws Exception {
+        final AsyncChannel<String> testChannel = new AsyncChannel<String>(1);
+        final AtomicInteger deliveredCounter = new AtomicInteger(0);
+        for (int index = 0; index < 2000; index++) {
+            final Promise<String> takePromise = testChannel.take();
+            takePromise.then(Schedulers.newSimpleScheduler(), new Action<String>() {
+                @Override
+                public void call(Promise<String> promise) {
+                    deliveredCounter.incrementAndGet();
+                }
+
+                @Override
+                public void cancel() {
+                    // Do Nothing.
+                }
+            });
+
+            final CyclicBarrier startBarrier = new CyclicBarrier(2);
+            final Thread cancelThread = new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        startBarrier.await();
+                    } catch (Exception e) {
+                        return;
+                    }
+                    takePromise.cancel();
+                }
+            };
+            cancelThread.start();
+            startBarrier.await();
+            final Promise<Void> putPromise = testChannel.put("ITEM");
+            cancelThread.join();
+
+            assertTrue(putPromise.isSuccessful());
+            if (testChannel.poll() != null) {
+                deliveredCounter.incrementAndGet();
+            }
+            assertEquals(index + 1, deliveredCounter.get());
+            assertEquals(0, testChannel.size());
+        }
+    }
+
+    @Test
+    public void testThreadSafety() {
+        final ExecutorService executorService = Executors.newFixedThreadPool(4);
+        final AsyncChannel<Integer> testChannel = new AsyncChannel<Integer>(8);
+        final List<Promise<Integer>> takePromises = new ArrayList<Promise<Integer>>();
+        for (int producer = 0; producer < 4; producer++) {
+            final int base = producer * 1000;
+            executorService.execute(new Runnable() {
+                @Override
+                public void run() {
+                    for (int index = 0; index < 1000; index++) {
+                        testChannel.put(base + index);
+                    }
+                }
+            });
+        }
+        for (int index = 0; index < 4000; index++) {
+            takePromises.add(testChannel.take());
+        }
+
+        try {
+            long sum = 0;
+            for (Promise<Integer> takePromise : takePromises) {
+                takePromise.await(2, TimeUnit.SECONDS);
+                sum += takePromise.get();
+            }
+
+            assertEquals(3999L * 4000L / 2L, sum);
+        } catch (InterruptedException e) {
+            fail();
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+}
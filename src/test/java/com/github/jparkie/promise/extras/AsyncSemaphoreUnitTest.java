@@ -0,0 +1,167 @@
+package com.github.jparkie.promise.extras;
+
+import com.github.jparkie.promise.Action;
+import com.github.jparkie.promise.Promise;
+import com.github.jparkie.promise.Promises;
+import com.github.jparkie.promise.Schedulers;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+
+import static org.junit.Assert.*;
+
+public class AsyncSemaphoreUnitTest {
+    @Test
+    public void testAcquire() {
+        final AsyncSemaphore testSemaphore = new AsyncSemaphore(2);
+        final Promise<AsyncSemaphore.Permit> firstPromise = testSemaphore.acquire();
+        final Promise<AsyncSemaphore.Permit> secondPromise = testSemaphore.acquire();
+        final Promise<AsyncSemaphore.Permit> thirdPromise = testSemaphore.acquire();
+        final Promise<AsyncSemaphore.Permit> fourthPromise = testSemaphore.acquire();
+
+        assertTrue(firstPromise.isSuccessful());
+        assertTrue(secondPromise.isSuccessful());
+        assertFalse(thirdPromise.isDone());
+        assertFalse(fourthPromise.isDone());
+        assertEquals(0, testSemaphore.availablePermits());
+        assertEquals(2, testSemaphore.queueLength());
+        assertNull(testSemaphore.tryAcquire());
+
+        firstPromise.get().release();
+        firstPromise.get().release();
+
+        assertTrue(thirdPromise.isSuccessful());
+        assertFalse(fourthPromise.isDone());
+        assertEquals(0, testSemaphore.availablePermits());
+
+        secondPromise.get().release();
+
+        assertTrue(fourthPromise.isSuccessful());
+
+        thirdPromise.get().release();
+        fourthPromise.get().release();
+
+        assertEquals(2, testSemaphore.availablePermits());
+        assertEquals(0, testSemaphore.queueLength());
+    }
+
+    @Test
+    public void testCancel() {
+        final AsyncSemaphore testSemaphore = new AsyncSemaphore(1);
+        final Promise<AsyncSemaphore.Permit> firstPromise = testSemaphore.acquire();
+        final Promise<AsyncSemaphore.Permit> cancelledPromise = testSemaphore.acquire();
+        final Promise<AsyncSemaphore.Permit> thirdPromise = testSemaphore.acquire();
+
+        cancelledPromise.cancel();
+
+        assertEquals(1, testSemaphore.queueLength());
+
+        firstPromise.get().release();
+
+        assertTrue(thirdPromise.isSuccessful());
+        assertEquals(0, testSemaphore.availablePermits());
+    }
+
+    @Test
+    public void testCancelAfterGrant() {
+        final AsyncSemaphore testSemaphore = new AsyncSemaphore(1);
+        final Promise<AsyncSemaphore.Permit> firstPromise = testSemaphore.acquire();
+        final Promise<AsyncSemaphore.Permit> grantedPromise = testSemaphore.acquire();
+        grantedPromise.then(Schedulers.newSimpleScheduler(), new Action<AsyncSemaphore.Permit>() {
+            @Override
+            public void call(Promise<AsyncSemaphore.Permit> promise) {
+                promise.cancel();
+            }
+
+            @Override
+            public void cancel() {
+                // Do Nothing.
+            }
+        });
+
+        firstPromise.get().release();
+
+        assertTrue(grantedPromise.isDone());
+        assertFalse(grantedPromise.get().isReleased());
+        assertEquals(0, testSemaphore.availablePermits());
+
+        grantedPromise.get().release();
+
+        assertEquals(1, testSemaphore.availablePermits());
+    }
+
+    @Test
+    public void testCancelReleaseRace() throws Exception {
+        final AsyncSemaphore testSemaphore = new AsyncSemaphore(1);
+        for (int index = 0; index < 2000; index++) {
+            final AsyncSemaphore.Permit holderPermit = testSemaphore.tryAcquire();
+            final Promise<AsyncSemaphore.Permit> waiterPromise = testSemaphore.acquire();
+            waiterPromise.then(Schedulers.newSimpleScheduler(), new Action<AsyncSemaphore.Permit>() {
+                @Override
+                public void call(Promise<AsyncSemaphore.Permit> promise) {
+                    promise.get().release();
+                }
+
+                @Override
+                public void cancel() {
+                    // Do Nothing.
+                }
+            });
+
+            final CyclicBarrier startBarrier = new CyclicBarrier(2);
+            final Thread cancelThread = new Thread() {
+                @Override
+                public void run() {
+                    try {
+                        startBarrier.await();
+                    } catch (Exception e) {
+                        return;
+                    }
+                    waiterPromise.cancel();
+                }
+            };
+            cancelThread.start();
+            startBarrier.await();
+            holderPermit.release();
+            cancelThread.join();
+
+            assertEquals(1, testSemaphore.availablePermits());
+            assertEquals(0, testSemaphore.queueLength());
+        }
+    }
+
+    @Test
+    public void testMutex() {
+        final AsyncMutex testMutex = new AsyncMutex();
+        final List<String> events = new ArrayList<String>();
+        final Promise<String> firstPromise = Promises.promise();
+
+        final Promise<String> firstLockPromise = testMutex.withLock(new Supplier<Promise<String>>() {
+            @Override
+            public Promise<String> get() {
+                events.add("FIRST");
+                return firstPromise;
+            }
+        });
+        final Promise<String> secondLockPromise = testMutex.withLock(new Supplier<Promise<String>>() {
+            @Override
+            public Promise<String> get() {
+                events.add("SECOND");
+                return Promises.value("SECOND");
+            }
+        });
+
+        assertTrue(testMutex.isLocked());
+        assertEquals(1, events.size());
+        assertFalse(secondLockPromise.isDone());
+
+        firstPromise.set("FIRST");
+
+        assertEquals("FIRST", firstLockPromise.get());
+        assertEquals("SECOND", secondLockPromise.get());
+        assertEquals(2, events.size());
+        assertFalse(testMutex.isLocked());
+    }
+}
@@ -0,0 +1,113 @@
+package com.github.jparkie.promise.extras;
+
+import com.github.jparkie.promise.Promise;
+import com.github.jparkie.promise.Promises;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class BatchLoaderUnitTest {
+    private ScheduledExecutorService timerService;
+
+    @Before
+    public void setup() {
+        timerService = Executors.newSingleThreadScheduledExecutor();
+    }
+
+    @After
+    public void teardown() {
+        timerService.shutdownNow();
+        timerService = null;
+    }
+
+    @Test
+    public void testWindow() {
+        final List<Set<String>> batches = new ArrayList<Set<String>>();
+        final BatchLoader<String, Integer> testLoader = new BatchLoader<String, Integer>(
+                new BatchLoader.BulkFunction<String, Integer>() {
+                    @Override
+                    public Promise<Map<String, Integer>> load(Set<String> keys) {
+                        synchronized (batches) {
+                            batches.add(keys);
+                        }
+
+                        final Map<String, Integer> values = new HashMap<String, Integer>();
+                        for (String key : keys) {
+                            if (!key.equals("MISSING")) {
+                                values.put(key, key.length());
+                            }
+                        }
+                        return Promises.value(values);
+                    }
+                },
+                100,
+                50,
+                TimeUnit.MILLISECONDS,
+                timerService);
+
+        final Promise<Integer> firstPromise = testLoader.load("FIRST");
+        final Promise<Integer> secondPromise = testLoader.load("SECOND");
+        final Promise<Integer> dedupPromise = testLoader.load("FIRST");
+        final Promise<Integer> missingPromise = testLoader.load("MISSING");
+
+        assertSame(firstPromise, dedupPromise);
+
+        try {
+            missingPromise.await(2, TimeUnit.SECONDS);
+
+            assertTrue(firstPromise.isSuccessful());
+            assertEquals(Integer.valueOf(5), firstPromise.get());
+            assertTrue(secondPromise.isSuccessful());
+            assertEquals(Integer.valueOf(6), secondPromise.get());
+            assertFalse(missingPromise.isSuccessful());
+            assertTrue(missingPromise.getError() instanceof NoSuchElementException);
+            assertEquals(1, batches.size());
+            assertEquals(1, testLoader.stats().batchCount);
+            assertEquals(3, testLoader.stats().keyCount);
+            assertEquals(1, testLoader.stats().dedupCount);
+        } catch (InterruptedException e) {
+            fail();
+        }
+    }
+
+    @Test
+    public void testMaximumBatchSize() {
+        final Throwable error = new IllegalStateException();
+        final BatchLoader<Integer, Integer> testLoader = new BatchLoader<Integer, Integer>(
+                new BatchLoader.BulkFunction<Integer, Integer>() {
+                    @Override
+                    public Promise<Map<Integer, Integer>> load(Set<Integer> keys) {
+                        return Promises.error(error);
+                    }
+                },
+                2,
+                1,
+                TimeUnit.DAYS,
+                timerService);
+
+        final Promise<Integer> firstPromise = testLoader.load(1);
+
+        assertFalse(firstPromise.isDone());
+
+        final Promise<Integer> secondPromise = testLoader.load(2);
+
+        assertTrue(firstPromise.isDone());
+        assertEquals(error, firstPromise.getError());
+        assertTrue(secondPromise.isDone());
+        assertEquals(error, secondPromise.getError());
+        assertEquals(2, testLoader.stats().maxBatchSize);
+        assertEquals(2.0, testLoader.stats().averageBatchSize(), 0.0);
+    }
+}
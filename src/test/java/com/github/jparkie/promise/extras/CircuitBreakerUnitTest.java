@@ -0,0 +1,162 @@
+package com.github.jparkie.promise.extras;
+
+import com.github.jparkie.promise.Promise;
+import com.github.jparkie.promise.Promises;
+import com.github.jparkie.promise.failures.CircuitOpenException;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class CircuitBreakerUnitTest {
+    @Test
+    public void testOpenAndClose() {
+        final Throwable error = new IllegalStateException();
+        final AtomicInteger callCounter = new AtomicInteger(0);
+        final Supplier<Promise<String>> failingSupplier = new Supplier<Promise<String>>() {
+            @Override
+            public Promise<String> get() {
+                callCounter.incrementAndGet();
+                return Promises.error(error);
+            }
+        };
+        final Supplier<Promise<String>> succeedingSupplier = new Supplier<Promise<String>>() {
+            @Override
+            public Promise<String> get() {
+                callCounter.incrementAndGet();
+                return Promises.value("SUCCESS");
+            }
+        };
+        final CircuitBreaker testBreaker = new CircuitBreaker(0.5, 4, 1, 1, 50, TimeUnit.MINUTES, 2);
+
+        assertTrue(testBreaker.call(succeedingSupplier).isSuccessful());
+        assertTrue(testBreaker.call(succeedingSupplier).isSuccessful());
+        assertEquals(error, testBreaker.call(failingSupplier).getError());
+        assertEquals(CircuitBreaker.State.CLOSED, testBreaker.getState());
+        assertEquals(error, testBreaker.call(failingSupplier).getError());
+        assertEquals(CircuitBreaker.State.OPEN, testBreaker.getState());
+        assertEquals(0.5, testBreaker.stats().failureRate(), 0.0);
+
+        final Promise<String> rejectedPromise = testBreaker.call(succeedingSupplier);
+
+        assertTrue(rejectedPromise.getError() instanceof CircuitOpenException);
+        assertEquals(4, callCounter.get());
+        assertEquals(1, testBreaker.stats().rejectedCount);
+    }
+
+    @Test
+    public void testHalfOpen() {
+        final Promise<String> firstProbePromise = Promises.promise();
+        final Promise<String> secondProbePromise = Promises.promise();
+        final AtomicInteger callCounter = new AtomicInteger(0);
+        final ManualTicker testTicker = new ManualTicker();
+        final CircuitBreaker testBreaker = new CircuitBreaker(1.0, 1, 1, 1, 10, TimeUnit.MILLISECONDS, 2, testTicker);
+
+        testBreaker.call(new Supplier<Promise<String>>() {
+            @Override
+            public Promise<String> get() {
+                return Promises.error(new IllegalStateException());
+            }
+        });
+
+        assertEquals(CircuitBreaker.State.OPEN, testBreaker.getState());
+
+        testTicker.advance(10, TimeUnit.MILLISECONDS);
+
+        assertEquals(CircuitBreaker.State.HALF_OPEN, testBreaker.getState());
+
+        final Supplier<Promise<String>> probeSupplier = new Supplier<Promise<String>>() {
+            @Override
+            public Promise<String> get() {
+                return callCounter.getAndIncrement() == 0 ? firstProbePromise : secondProbePromise;
+            }
+        };
+        final Promise<String> firstPromise = testBreaker.call(probeSupplier);
+        final Promise<String> secondPromise = testBreaker.call(probeSupplier);
+        final Promise<String> rejectedPromise = testBreaker.call(probeSupplier);
+
+        assertSame(firstProbePromise, firstPromise);
+        assertSame(secondProbePromise, secondPromise);
+        assertTrue(rejectedPromise.getError() instanceof CircuitOpenException);
+
+        firstProbePromise.set("FIRST");
+
+        assertEquals(CircuitBreaker.State.HALF_OPEN, testBreaker.getState());
+
+        secondProbePromise.set("SECOND");
+
+        assertEquals(CircuitBreaker.State.CLOSED, testBreaker.getState());
+        assertEquals(0, testBreaker.stats().failureCount);
+    }
+
+    @Test
+    public void testSlowCall() {
+        final Promise<String> slowPromise = Promises.promise();
+        final ManualTicker testTicker = new ManualTicker();
+        final CircuitBreaker testBreaker = new CircuitBreaker(1.0, 1, 1, 1, 10, TimeUnit.SECONDS, 1, testTicker);
+
+        testBreaker.call(new Supplier<Promise<String>>() {
+            @Override
+            public Promise<String> get() {
+                return slowPromise;
+            }
+        });
+        testTicker.advance(2, TimeUnit.SECONDS);
+        slowPromise.set("SLOW");
+
+        assertEquals(CircuitBreaker.State.OPEN, testBreaker.getState());
+        assertEquals(1, testBreaker.stats().slowCount);
+    }
+
+    @Test
+    public void testLateOutcomeAfterClose() {
+        final Promise<String> latePromise = Promises.promise();
+        final ManualTicker testTicker = new ManualTicker();
+        final CircuitBreaker testBreaker = new CircuitBreaker(1.0, 1, 1, 1, 10, TimeUnit.SECONDS, 1, testTicker);
+
+        testBreaker.call(new Supplier<Promise<String>>() {
+            @Override
+            public Promise<String> get() {
+                return latePromise;
+            }
+        });
+        testBreaker.call(new Supplier<Promise<String>>() {
+            @Override
+            public Promise<String> get() {
+                return Promises.error(new IllegalStateException());
+            }
+        });
+
+        assertEquals(CircuitBreaker.State.OPEN, testBreaker.getState());
+
+        testTicker.advance(10, TimeUnit.SECONDS);
+        testBreaker.call(new Supplier<Promise<String>>() {
+            @Override
+            public Promise<String> get() {
+                return Promises.value("PROBE");
+            }
+        });
+
+        assertEquals(CircuitBreaker.State.CLOSED, testBreaker.getState());
+
+        latePromise.setError(new IllegalStateException());
+
+        assertEquals(CircuitBreaker.State.CLOSED, testBreaker.getState());
+        assertEquals(0, testBreaker.stats().failureCount);
+    }
+
+    private static final class ManualTicker implements CircuitBreaker.Ticker {
+        private long nanos;
+
+        @Override
+        public long read() {
+            return nanos;
+        }
+
+        private void advance(long duration, TimeUnit unit) {
+            nanos += unit.toNanos(duration);
+        }
+    }
+}
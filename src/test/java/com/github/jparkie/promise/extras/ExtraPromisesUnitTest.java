@@ -1,15 +1,27 @@
 package com.github.jparkie.promise.extras;
 
+import com.github.jparkie.promise.Action;
+import com.github.jparkie.promise.Function;
 import com.github.jparkie.promise.Promise;
 import com.github.jparkie.promise.Promises;
+import com.github.jparkie.promise.Scheduler;
 import com.github.jparkie.promise.Schedulers;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Timer;
 import java.util.TimerTask;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.*;
 
@@ -155,4 +167,614 @@ public class ExtraPromisesUnitTest {
             fail();
         }
     }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testQuorum1() {
+        final Promise<String> firstPromise = Promises.promise();
+        final Promise<String> secondPromise = Promises.promise();
+        final Promise<String> thirdPromise = Promises.promise();
+
+        final Promise<List<String>> quorumPromise = ExtraPromises.quorum(
+                Schedulers.newSimpleScheduler(),
+                2,
+                firstPromise,
+                secondPromise,
+                thirdPromise);
+
+        timer.schedule(new TimerTask() {
+            @Override
+            public void run() {
+                secondPromise.set("SECOND");
+            }
+        }, 100);
+        timer.schedule(new TimerTask() {
+            @Override
+            public void run() {
+                firstPromise.set("FIRST");
+            }
+        }, 200);
+
+        try {
+            quorumPromise.await(2, TimeUnit.SECONDS);
+
+            assertFalse(quorumPromise.isCancelled());
+            assertTrue(quorumPromise.isDone());
+            assertTrue(quorumPromise.isSuccessful());
+            assertEquals(Arrays.asList("SECOND", "FIRST"), quorumPromise.get());
+            assertNull(quorumPromise.getError());
+            assertTrue(thirdPromise.isCancelled());
+            assertFalse(thirdPromise.isDone());
+        } catch (InterruptedException e) {
+            fail();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testQuorum2() {
+        final Throwable error = new NoSuchElementException();
+        final Promise<String> firstPromise = Promises.promise();
+        final Promise<String> secondPromise = Promises.promise();
+        final Promise<String> thirdPromise = Promises.promise();
+
+        final Promise<List<String>> quorumPromise = ExtraPromises.quorum(
+                Schedulers.newSimpleScheduler(),
+                2,
+                firstPromise,
+                secondPromise,
+                thirdPromise);
+
+        firstPromise.set("FIRST");
+        secondPromise.setError(error);
+
+        assertFalse(quorumPromise.isDone());
+
+        thirdPromise.setError(new IllegalStateException());
+
+        assertFalse(quorumPromise.isCancelled());
+        assertTrue(quorumPromise.isDone());
+        assertFalse(quorumPromise.isSuccessful());
+        assertNull(quorumPromise.get());
+        assertEquals(error, quorumPromise.getError());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testGatherUntil() {
+        final Throwable error = new NoSuchElementException();
+        final Promise<String> firstPromise = Promises.promise();
+        final Promise<String> secondPromise = Promises.promise();
+        final Promise<String> thirdPromise = Promises.promise();
+        final Promise<Void> deadlinePromise = Promises.promise();
+
+        final Promise<GatherResult<String>> gatherPromise = ExtraPromises.gatherUntil(
+                Schedulers.newSimpleScheduler(),
+                deadlinePromise,
+                firstPromise,
+                secondPromise,
+                thirdPromise);
+
+        timer.schedule(new TimerTask() {
+            @Override
+            public void run() {
+                firstPromise.set("FIRST");
+                secondPromise.setError(error);
+            }
+        }, 100);
+        timer.schedule(new TimerTask() {
+            @Override
+            public void run() {
+                deadlinePromise.set(null);
+            }
+        }, 200);
+
+        try {
+            gatherPromise.await(2, TimeUnit.SECONDS);
+
+            assertFalse(gatherPromise.isCancelled());
+            assertTrue(gatherPromise.isDone());
+            assertTrue(gatherPromise.isSuccessful());
+            assertEquals(Collections.singletonMap(0, "FIRST"), gatherPromise.get().successes);
+            assertEquals(Collections.singletonMap(1, error), gatherPromise.get().failures);
+            assertEquals(Collections.singletonList(2), gatherPromise.get().pending);
+            assertFalse(gatherPromise.get().isComplete());
+            assertTrue(thirdPromise.isCancelled());
+        } catch (InterruptedException e) {
+            fail();
+        }
+    }
+
+    @Test
+    public void testMapAsync() {
+        final AtomicInteger inFlightCounter = new AtomicInteger(0);
+        final AtomicInteger maxInFlightCounter = new AtomicInteger(0);
+
+        final Promise<List<Integer>> mapPromise = ExtraPromises.mapAsync(
+                Schedulers.newSimpleScheduler(),
+                Arrays.asList(5, 4, 3, 2, 1),
+                2,
+                new Mapper<Integer, Promise<Integer>>() {
+                    @Override
+                    public Promise<Integer> map(final Integer value) {
+                        final Promise<Integer> promise = Promises.promise();
+                        final int inFlight = inFlightCounter.incrementAndGet();
+                        if (inFlight > maxInFlightCounter.get()) {
+                            maxInFlightCounter.set(inFlight);
+                        }
+                        timer.schedule(new TimerTask() {
+                            @Override
+                            public void run() {
+                                inFlightCounter.decrementAndGet();
+                                promise.set(value * 10);
+                            }
+                        }, value * 20);
+                        return promise;
+                    }
+                });
+
+        try {
+            mapPromise.await(2, TimeUnit.SECONDS);
+
+            assertFalse(mapPromise.isCancelled());
+            assertTrue(mapPromise.isDone());
+            assertTrue(mapPromise.isSuccessful());
+            assertEquals(Arrays.asList(50, 40, 30, 20, 10), mapPromise.get());
+            assertNull(mapPromise.getError());
+            assertEquals(2, maxInFlightCounter.get());
+        } catch (InterruptedException e) {
+            fail();
+        }
+    }
+
+    @Test
+    public void testMapAsyncUnordered() {
+        final Throwable error = new NoSuchElementException();
+
+        final Promise<List<Integer>> mapPromise = ExtraPromises.mapAsyncUnordered(
+                Schedulers.newSimpleScheduler(),
+                Arrays.asList(1, 2, 3, 4, 5),
+                2,
+                new Mapper<Integer, Promise<Integer>>() {
+                    @Override
+                    public Promise<Integer> map(Integer value) {
+                        if (value == 4) {
+                            return Promises.error(error);
+                        }
+                        return Promises.value(value);
+                    }
+                });
+
+        assertFalse(mapPromise.isCancelled());
+        assertTrue(mapPromise.isDone());
+        assertFalse(mapPromise.isSuccessful());
+        assertEquals(error, mapPromise.getError());
+    }
+
+    @Test
+    public void testFold() {
+        final List<Promise<Integer>> promises = new ArrayList<Promise<Integer>>();
+        for (int index = 0; index < 100; index++) {
+            promises.add(Promises.<Integer>promise());
+        }
+
+        final Promise<Long> foldPromise = ExtraPromises.fold(
+                Schedulers.newSimpleScheduler(),
+                promises,
+                0L,
+                new Accumulator<Long, Integer>() {
+                    @Override
+                    public Long accumulate(Long accumulated, Integer value) {
+                        return accumulated + value;
+                    }
+                });
+
+        timer.schedule(new TimerTask() {
+            @Override
+            public void run() {
+                for (int index = promises.size() - 1; index >= 0; index--) {
+                    promises.get(index).set(index);
+                }
+            }
+        }, 100);
+
+        try {
+            foldPromise.await(2, TimeUnit.SECONDS);
+
+            assertFalse(foldPromise.isCancelled());
+            assertTrue(foldPromise.isDone());
+            assertTrue(foldPromise.isSuccessful());
+            assertEquals(Long.valueOf(4950L), foldPromise.get());
+            assertNull(foldPromise.getError());
+        } catch (InterruptedException e) {
+            fail();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testFoldOrdered() {
+        final Promise<String> firstPromise = Promises.promise();
+        final Promise<String> secondPromise = Promises.promise();
+        final Promise<String> thirdPromise = Promises.promise();
+
+        final Promise<String> foldPromise = ExtraPromises.foldOrdered(
+                Schedulers.newSimpleScheduler(),
+                Arrays.asList(firstPromise, secondPromise, thirdPromise),
+                "",
+                new Accumulator<String, String>() {
+                    @Override
+                    public String accumulate(String accumulated, String value) {
+                        return accumulated + value;
+                    }
+                });
+
+        thirdPromise.set("THIRD");
+        secondPromise.set("SECOND");
+
+        assertFalse(foldPromise.isDone());
+
+        firstPromise.set("FIRST");
+
+        assertFalse(foldPromise.isCancelled());
+        assertTrue(foldPromise.isDone());
+        assertTrue(foldPromise.isSuccessful());
+        assertEquals("FIRSTSECONDTHIRD", foldPromise.get());
+        assertNull(foldPromise.getError());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testCompletionOrder() {
+        final Promise<String> firstPromise = Promises.promise();
+        final Promise<String> secondPromise = Promises.promise();
+        final Promise<String> thirdPromise = Promises.promise();
+
+        final AsyncIterator<String> completionIterator = ExtraPromises.completionOrder(
+                Schedulers.newSimpleScheduler(),
+                Arrays.asList(firstPromise, secondPromise, thirdPromise),
+                2);
+
+        final Promise<String> firstNextPromise = completionIterator.next();
+        thirdPromise.set("THIRD");
+
+        assertFalse(firstNextPromise.isDone());
+
+        secondPromise.set("SECOND");
+
+        assertTrue(firstNextPromise.isSuccessful());
+        assertEquals("SECOND", firstNextPromise.get());
+
+        firstPromise.set("FIRST");
+
+        final Promise<String> secondNextPromise = completionIterator.next();
+        final Promise<String> thirdNextPromise = completionIterator.next();
+        final Promise<String> fourthNextPromise = completionIterator.next();
+
+        assertTrue(secondNextPromise.isSuccessful());
+        assertEquals("THIRD", secondNextPromise.get());
+        assertTrue(thirdNextPromise.isSuccessful());
+        assertEquals("FIRST", thirdNextPromise.get());
+        assertTrue(fourthNextPromise.isDone());
+        assertFalse(fourthNextPromise.isSuccessful());
+        assertTrue(fourthNextPromise.getError() instanceof NoSuchElementException);
+    }
+
+    @Test
+    public void testAwaitAll() {
+        final Promise<String> firstPromise = Promises.promise();
+        final Promise<Integer> secondPromise = Promises.promise();
+        final Promise<Boolean> thirdPromise = Promises.value(true);
+
+        timer.schedule(new TimerTask() {
+            @Override
+            public void run() {
+                firstPromise.set("FIRST");
+            }
+        }, 100);
+        timer.schedule(new TimerTask() {
+            @Override
+            public void run() {
+                secondPromise.cancel();
+            }
+        }, 200);
+
+        try {
+            final List<Integer> indices = ExtraPromises.awaitAll(2, TimeUnit.SECONDS, firstPromise, secondPromise, thirdPromise);
+
+            assertEquals(Arrays.asList(0, 1, 2), indices);
+        } catch (InterruptedException e) {
+            fail();
+        }
+    }
+
+    @Test
+    public void testAwaitAny() {
+        final Promise<String> firstPromise = Promises.promise();
+        final Promise<Integer> secondPromise = Promises.promise();
+
+        timer.schedule(new TimerTask() {
+            @Override
+            public void run() {
+                secondPromise.set(1);
+            }
+        }, 100);
+
+        try {
+            final List<Integer> indices = ExtraPromises.awaitAny(2, TimeUnit.SECONDS, firstPromise, secondPromise);
+
+            assertEquals(Collections.singletonList(1), indices);
+
+            final List<Integer> timeoutIndices = ExtraPromises.awaitAll(100, TimeUnit.MILLISECONDS, firstPromise, secondPromise);
+
+            assertEquals(Collections.singletonList(1), timeoutIndices);
+        } catch (InterruptedException e) {
+            fail();
+        }
+    }
+
+    @Test
+    public void testAwaitAnyRepeated() {
+        final CountingPromise<String> pendingPromise = new CountingPromise<String>();
+        final Promise<String> otherPromise = Promises.promise();
+
+        try {
+            for (int index = 0; index < 100; index++) {
+                assertTrue(ExtraPromises.awaitAny(1, TimeUnit.MILLISECONDS, pendingPromise, otherPromise).isEmpty());
+            }
+
+            assertEquals(1, pendingPromise.actionCounter.get());
+
+            pendingPromise.set("TEST");
+
+            assertEquals(Collections.singletonList(0), ExtraPromises.awaitAny(1, TimeUnit.SECONDS, pendingPromise, otherPromise));
+            assertEquals(2, pendingPromise.actionCounter.get());
+        } catch (InterruptedException e) {
+            fail();
+        }
+    }
+
+    @Test
+    public void testHedge() {
+        final ScheduledExecutorService timerService = Executors.newSingleThreadScheduledExecutor();
+        final HedgePolicy hedgePolicy = new HedgePolicy(timerService, 0.95, 1.0, 50, TimeUnit.MILLISECONDS);
+        final Promise<String> primaryPromise = Promises.promise();
+        final Promise<String> secondaryPromise = Promises.promise();
+        final AtomicInteger attemptCounter = new AtomicInteger(0);
+
+        final Promise<String> hedgePromise = ExtraPromises.hedge(
+                Schedulers.newSimpleScheduler(),
+                new Supplier<Promise<String>>() {
+                    @Override
+                    public Promise<String> get() {
+                        if (attemptCounter.getAndIncrement() == 0) {
+                            return primaryPromise;
+                        }
+
+                        timer.schedule(new TimerTask() {
+                            @Override
+                            public void run() {
+                                secondaryPromise.set("SECONDARY");
+                            }
+                        }, 10);
+                        return secondaryPromise;
+                    }
+                },
+                hedgePolicy);
+
+        try {
+            hedgePromise.await(2, TimeUnit.SECONDS);
+
+            assertFalse(hedgePromise.isCancelled());
+            assertTrue(hedgePromise.isDone());
+            assertTrue(hedgePromise.isSuccessful());
+            assertEquals("SECONDARY", hedgePromise.get());
+            assertEquals(2, attemptCounter.get());
+            assertTrue(primaryPromise.isCancelled());
+            assertEquals(1, hedgePolicy.getLatencyHistogram().count());
+            assertTrue(hedgePolicy.getLatencyHistogram().percentile(1.0) >= TimeUnit.MILLISECONDS.toNanos(50));
+        } catch (InterruptedException e) {
+            fail();
+        } finally {
+            timerService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testHedgeLoserLatency() {
+        final ScheduledExecutorService timerService = Executors.newSingleThreadScheduledExecutor();
+        final HedgePolicy hedgePolicy = new HedgePolicy(timerService, 0.95, 1.0, 20, TimeUnit.MILLISECONDS);
+        final Promise<String> primaryPromise = Promises.promise();
+        final Promise<String> secondaryPromise = Promises.promise();
+        final AtomicInteger attemptCounter = new AtomicInteger(0);
+
+        final Promise<String> hedgePromise = ExtraPromises.hedge(
+                Schedulers.newSimpleScheduler(),
+                new Supplier<Promise<String>>() {
+                    @Override
+                    public Promise<String> get() {
+                        if (attemptCounter.getAndIncrement() == 0) {
+                            return primaryPromise;
+                        }
+
+                        timer.schedule(new TimerTask() {
+                            @Override
+                            public void run() {
+                                primaryPromise.set("PRIMARY");
+                            }
+                        }, 50);
+                        return secondaryPromise;
+                    }
+                },
+                hedgePolicy);
+
+        try {
+            hedgePromise.await(2, TimeUnit.SECONDS);
+
+            assertTrue(hedgePromise.isSuccessful());
+            assertEquals("PRIMARY", hedgePromise.get());
+            assertEquals(2, attemptCounter.get());
+            assertTrue(secondaryPromise.isCancelled());
+            assertEquals(2, hedgePolicy.getLatencyHistogram().count());
+            assertTrue(hedgePolicy.getLatencyHistogram().percentile(1.0) >= TimeUnit.MILLISECONDS.toNanos(70));
+        } catch (InterruptedException e) {
+            fail();
+        } finally {
+            timerService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testHedgeCapped() {
+        final ScheduledExecutorService timerService = Executors.newSingleThreadScheduledExecutor();
+        final HedgePolicy hedgePolicy = new HedgePolicy(timerService, 0.95, 0.0, 10, TimeUnit.MILLISECONDS);
+        final Promise<String> primaryPromise = Promises.promise();
+        final AtomicInteger attemptCounter = new AtomicInteger(0);
+
+        final Promise<String> hedgePromise = ExtraPromises.hedge(
+                Schedulers.newSimpleScheduler(),
+                new Supplier<Promise<String>>() {
+                    @Override
+                    public Promise<String> get() {
+                        attemptCounter.incrementAndGet();
+                        return primaryPromise;
+                    }
+                },
+                hedgePolicy);
+
+        timer.schedule(new TimerTask() {
+            @Override
+            public void run() {
+                primaryPromise.set("PRIMARY");
+            }
+        }, 100);
+
+        try {
+            hedgePromise.await(2, TimeUnit.SECONDS);
+
+            assertTrue(hedgePromise.isSuccessful());
+            assertEquals("PRIMARY", hedgePromise.get());
+            assertEquals(1, attemptCounter.get());
+        } catch (InterruptedException e) {
+            fail();
+        } finally {
+            timerService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testParallelMap() {
+        final ExecutorService executorService = Executors.newFixedThreadPool(4);
+        final List<Integer> elements = new ArrayList<Integer>();
+        for (int index = 0; index < 10000; index++) {
+            elements.add(index);
+        }
+
+        final Promise<List<Integer>> parallelPromise = ExtraPromises.parallelMap(
+                Schedulers.newExecutorServiceScheduler(executorService),
+                elements,
+                new Mapper<Integer, Integer>() {
+                    @Override
+                    public Integer map(Integer value) {
+                        return value * 2;
+                    }
+                },
+                100);
+        final Promise<List<Integer>> errorPromise = ExtraPromises.parallelMap(
+                Schedulers.newExecutorServiceScheduler(executorService),
+                elements,
+                new Mapper<Integer, Integer>() {
+                    @Override
+                    public Integer map(Integer value) {
+                        if (value == 5000) {
+                            throw new IllegalStateException();
+                        }
+                        return value;
+                    }
+                },
+                100);
+
+        try {
+            parallelPromise.await(2, TimeUnit.SECONDS);
+            errorPromise.await(2, TimeUnit.SECONDS);
+
+            assertTrue(parallelPromise.isSuccessful());
+            assertEquals(10000, parallelPromise.get().size());
+            for (int index = 0; index < 10000; index++) {
+                assertEquals(Integer.valueOf(index * 2), parallelPromise.get().get(index));
+            }
+            assertFalse(errorPromise.isSuccessful());
+            assertTrue(errorPromise.getError() instanceof IllegalStateException);
+        } catch (InterruptedException e) {
+            fail();
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private static final class CountingPromise<T> implements Promise<T> {
+        private final Promise<T> promise = Promises.promise();
+        private final AtomicInteger actionCounter = new AtomicInteger(0);
+
+        @Override
+        public boolean isCancelled() {
+            return promise.isCancelled();
+        }
+
+        @Override
+        public boolean isDone() {
+            return promise.isDone();
+        }
+
+        @Override
+        public boolean isSuccessful() {
+            return promise.isSuccessful();
+        }
+
+        @Override
+        public void cancel() {
+            promise.cancel();
+        }
+
+        @Override
+        public void await() throws InterruptedException {
+            promise.await();
+        }
+
+        @Override
+        public boolean await(long timeout, TimeUnit unit) throws InterruptedException {
+            return promise.await(timeout, unit);
+        }
+
+        @Override
+        public T get() throws IllegalStateException {
+            return promise.get();
+        }
+
+        @Override
+        public Throwable getError() throws IllegalStateException {
+            return promise.getError();
+        }
+
+        @Override
+        public void set(T value) throws IllegalStateException {
+            promise.set(value);
+        }
+
+        @Override
+        public void setError(Throwable error) throws IllegalStateException {
+            promise.setError(error);
+        }
+
+        @Override
+        public <U> Promise<U> then(Scheduler scheduler, Function<T, U> function) {
+            return promise.then(scheduler, function);
+        }
+
+        @Override
+        public void then(Scheduler scheduler, Action<T> action) {
+            actionCounter.incrementAndGet();
+            promise.then(scheduler, action);
+        }
+    }
 }
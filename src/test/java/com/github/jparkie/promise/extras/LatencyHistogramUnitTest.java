@@ -0,0 +1,34 @@
+package com.github.jparkie.promise.extras;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class LatencyHistogramUnitTest {
+    @Test
+    public void testPercentile() {
+        final LatencyHistogram testHistogram = new LatencyHistogram(1, TimeUnit.MINUTES, 6);
+        for (long latency = 1; latency <= 1000; latency++) {
+            testHistogram.record(TimeUnit.MICROSECONDS.toNanos(latency));
+        }
+
+        final long median = testHistogram.percentile(0.5);
+        final long tail = testHistogram.percentile(0.95);
+
+        assertEquals(1000, testHistogram.count());
+        assertTrue(median >= TimeUnit.MICROSECONDS.toNanos(500));
+        assertTrue(median <= TimeUnit.MICROSECONDS.toNanos(625));
+        assertTrue(tail >= TimeUnit.MICROSECONDS.toNanos(950));
+        assertTrue(tail <= TimeUnit.MICROSECONDS.toNanos(1188));
+    }
+
+    @Test
+    public void testEmpty() {
+        final LatencyHistogram testHistogram = new LatencyHistogram(1, TimeUnit.MINUTES, 6);
+
+        assertEquals(0, testHistogram.count());
+        assertEquals(0, testHistogram.percentile(0.99));
+    }
+}
@@ -0,0 +1,148 @@
+package com.github.jparkie.promise.extras;
+
+import com.github.jparkie.promise.Promise;
+import com.github.jparkie.promise.Promises;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class PromiseCacheUnitTest {
+    @Test
+    public void testSingleFlight() {
+        final AtomicInteger loadCounter = new AtomicInteger(0);
+        final Promise<String> loadPromise = Promises.promise();
+        final PromiseCache<String, String> testCache = new PromiseCache<String, String>(
+                new PromiseCache.Loader<String, String>() {
+                    @Override
+                    public Promise<String> load(String key) {
+                        loadCounter.incrementAndGet();
+                        return loadPromise;
+                    }
+                },
+                16);
+
+        final Promise<String> firstPromise = testCache.get("KEY");
+        final Promise<String> secondPromise = testCache.get("KEY");
+
+        assertSame(firstPromise, secondPromise);
+        assertFalse(firstPromise.isDone());
+
+        loadPromise.set("VALUE");
+
+        assertTrue(firstPromise.isSuccessful());
+        assertEquals("VALUE", firstPromise.get());
+        assertSame(firstPromise, testCache.get("KEY"));
+        assertEquals(1, loadCounter.get());
+        assertEquals(2, testCache.stats().hitCount);
+        assertEquals(1, testCache.stats().missCount);
+        assertEquals(1, testCache.stats().loadSuccessCount);
+    }
+
+    @Test
+    public void testFailureEvicted() {
+        final AtomicInteger loadCounter = new AtomicInteger(0);
+        final PromiseCache<String, String> testCache = new PromiseCache<String, String>(
+                new PromiseCache.Loader<String, String>() {
+                    @Override
+                    public Promise<String> load(String key) {
+                        if (loadCounter.incrementAndGet() == 1) {
+                            return Promises.error(new NoSuchElementException());
+                        }
+                        return Promises.value("VALUE");
+                    }
+                },
+                16);
+
+        final Promise<String> firstPromise = testCache.get("KEY");
+
+        assertFalse(firstPromise.isSuccessful());
+        assertEquals(0, testCache.size());
+
+        final Promise<String> secondPromise = testCache.get("KEY");
+
+        assertTrue(secondPromise.isSuccessful());
+        assertEquals("VALUE", secondPromise.get());
+        assertEquals(2, loadCounter.get());
+        assertEquals(1, testCache.stats().loadFailureCount);
+    }
+
+    @Test
+    public void testMaximumSize() {
+        final PromiseCache<Integer, Integer> testCache = new PromiseCache<Integer, Integer>(
+                new PromiseCache.Loader<Integer, Integer>() {
+                    @Override
+                    public Promise<Integer> load(Integer key) {
+                        return Promises.value(key);
+                    }
+                },
+                8);
+
+        for (int key = 0; key < 100; key++) {
+            testCache.get(key);
+        }
+
+        assertTrue(testCache.size() <= 8);
+        assertEquals(100 - testCache.size(), testCache.stats().evictionCount);
+    }
+
+    @Test
+    public void testExpireAfterWrite() throws InterruptedException {
+        final AtomicInteger loadCounter = new AtomicInteger(0);
+        final PromiseCache<String, Integer> testCache = new PromiseCache<String, Integer>(
+                new PromiseCache.Loader<String, Integer>() {
+                    @Override
+                    public Promise<Integer> load(String key) {
+                        return Promises.value(loadCounter.incrementAndGet());
+                    }
+                },
+                16,
+                50,
+                0,
+                TimeUnit.MILLISECONDS);
+
+        assertEquals(Integer.valueOf(1), testCache.get("KEY").get());
+        assertEquals(Integer.valueOf(1), testCache.get("KEY").get());
+
+        Thread.sleep(100);
+
+        assertNull(testCache.getIfPresent("KEY"));
+        assertEquals(Integer.valueOf(2), testCache.get("KEY").get());
+    }
+
+    @Test
+    public void testRefreshAfterWrite() throws InterruptedException {
+        final AtomicInteger loadCounter = new AtomicInteger(0);
+        final List<Promise<Integer>> loadedPromises = new ArrayList<Promise<Integer>>();
+        final PromiseCache<String, Integer> testCache = new PromiseCache<String, Integer>(
+                new PromiseCache.Loader<String, Integer>() {
+                    @Override
+                    public Promise<Integer> load(String key) {
+                        final Promise<Integer> loadedPromise = Promises.value(loadCounter.incrementAndGet());
+                        loadedPromises.add(loadedPromise);
+                        return loadedPromise;
+                    }
+                },
+                16,
+                0,
+                50,
+                TimeUnit.MILLISECONDS);
+
+        assertEquals(Integer.valueOf(1), testCache.get("KEY").get());
+
+        Thread.sleep(100);
+
+        testCache.get("KEY");
+
+        final Promise<Integer> refreshedPromise = testCache.get("KEY");
+
+        assertEquals(Integer.valueOf(2), refreshedPromise.get());
+        assertEquals(2, loadCounter.get());
+        assertNotSame(loadedPromises.get(1), refreshedPromise);
+    }
+}
@@ -0,0 +1,106 @@
+package com.github.jparkie.promise.extras;
+
+import com.github.jparkie.promise.Promise;
+import com.github.jparkie.promise.Promises;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.NoSuchElementException;
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.*;
+
+public class PromiseFutureUnitTest {
+    private Timer timer;
+
+    @Before
+    public void setup() {
+        timer = new Timer();
+    }
+
+    @After
+    public void teardown() {
+        timer.cancel();
+        timer.purge();
+        timer = null;
+    }
+
+    @Test
+    public void testGet() {
+        final Promise<String> testPromise = Promises.promise();
+        final Future<String> testFuture = new PromiseFuture<String>(testPromise);
+
+        timer.schedule(new TimerTask() {
+            @Override
+            public void run() {
+                testPromise.set("TEST");
+            }
+        }, 100);
+
+        try {
+            assertEquals("TEST", testFuture.get(2, TimeUnit.SECONDS));
+            assertTrue(testFuture.isDone());
+            assertFalse(testFuture.isCancelled());
+        } catch (Exception e) {
+            fail();
+        }
+    }
+
+    @Test
+    public void testGetError() throws InterruptedException {
+        final Throwable error = new NoSuchElementException();
+        final Future<String> testFuture = new PromiseFuture<String>(Promises.<String>error(error));
+
+        try {
+            testFuture.get();
+            fail();
+        } catch (ExecutionException e) {
+            assertEquals(error, e.getCause());
+        }
+    }
+
+    @Test(expected = TimeoutException.class)
+    public void testGetTimeout() throws Exception {
+        final Future<String> testFuture = new PromiseFuture<String>(Promises.<String>promise());
+
+        testFuture.get(100, TimeUnit.MILLISECONDS);
+    }
+
+    @Test(expected = CancellationException.class)
+    public void testCancel() throws Exception {
+        final Promise<String> testPromise = Promises.promise();
+        final Future<String> testFuture = new PromiseFuture<String>(testPromise);
+
+        assertTrue(testFuture.cancel(false));
+        assertFalse(testFuture.cancel(false));
+        assertTrue(testPromise.isCancelled());
+        assertTrue(testFuture.isCancelled());
+
+        testFuture.get();
+    }
+
+    @Test
+    public void testSpinAwaiterAdapts() throws InterruptedException {
+        final SpinAwaiter testAwaiter = new SpinAwaiter(TimeUnit.MICROSECONDS.toNanos(50));
+        for (int index = 0; index < 32; index++) {
+            final Promise<String> testPromise = Promises.promise();
+            timer.schedule(new TimerTask() {
+                @Override
+                public void run() {
+                    testPromise.set("TEST");
+                }
+            }, 10);
+
+            assertTrue(testAwaiter.await(testPromise, 2, TimeUnit.SECONDS));
+        }
+
+        assertEquals(0, testAwaiter.getSpinNanos());
+    }
+}
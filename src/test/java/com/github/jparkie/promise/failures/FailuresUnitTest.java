@@ -0,0 +1,54 @@
+package com.github.jparkie.promise.failures;
+
+import com.github.jparkie.promise.Promise;
+import com.github.jparkie.promise.Promises;
+import com.github.jparkie.promise.Schedulers;
+import com.github.jparkie.promise.functions.FilterFunction;
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class FailuresUnitTest {
+    @After
+    public void teardown() {
+        Failures.setDebug(false);
+    }
+
+    @Test
+    public void testShared() {
+        assertSame(Failures.filterRejected(), Failures.filterRejected());
+        assertSame(Failures.endOfStream(), Failures.endOfStream());
+        assertSame(Failures.timeout(), Failures.timeout());
+        assertSame(Failures.cancellation(), Failures.cancellation());
+        assertSame(Failures.circuitOpen(), Failures.circuitOpen());
+        assertSame(Failures.channelClosed(), Failures.channelClosed());
+        assertEquals(0, Failures.filterRejected().getStackTrace().length);
+        assertEquals(0, Failures.circuitOpen().getStackTrace().length);
+    }
+
+    @Test
+    public void testDebug() {
+        Failures.setDebug(true);
+
+        final FilterRejectedException firstFailure = Failures.filterRejected();
+        final FilterRejectedException secondFailure = Failures.filterRejected();
+
+        assertNotSame(firstFailure, secondFailure);
+        assertTrue(firstFailure.getStackTrace().length > 0);
+    }
+
+    @Test
+    public void testFilterFunction() {
+        final Promise<String> filteredPromise = Promises.value("FILTERED")
+                .then(Schedulers.newSimpleScheduler(), new FilterFunction<String>() {
+                    @Override
+                    public boolean filter(String value) {
+                        return false;
+                    }
+                });
+
+        assertTrue(filteredPromise.isDone());
+        assertSame(Failures.filterRejected(), filteredPromise.getError());
+    }
+}
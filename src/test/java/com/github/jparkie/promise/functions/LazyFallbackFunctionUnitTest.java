@@ -0,0 +1,80 @@
+package com.github.jparkie.promise.functions;
+
+import com.github.jparkie.promise.Promise;
+import com.github.jparkie.promise.Promises;
+import com.github.jparkie.promise.Schedulers;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class LazyFallbackFunctionUnitTest {
+    @Test
+    public void testSuccess() {
+        final AtomicInteger fallbackCounter = new AtomicInteger(0);
+        final Promise<String> testPromise = Promises.value("SUCCESS")
+                .then(Schedulers.newSimpleScheduler(), new LazyFallbackFunction<String>() {
+                    @Override
+                    public Promise<String> fallback() {
+                        fallbackCounter.incrementAndGet();
+                        return Promises.value("FALLBACK");
+                    }
+                });
+
+        assertTrue(testPromise.isSuccessful());
+        assertEquals("SUCCESS", testPromise.get());
+        assertEquals(0, fallbackCounter.get());
+    }
+
+    @Test
+    public void testFailure() {
+        final AtomicInteger fallbackCounter = new AtomicInteger(0);
+        final Promise<String> testPromise = Promises.<String>error(new IllegalStateException())
+                .then(Schedulers.newSimpleScheduler(), new LazyFallbackFunction<String>() {
+                    @Override
+                    public Promise<String> fallback() {
+                        fallbackCounter.incrementAndGet();
+                        return Promises.value("FALLBACK");
+                    }
+                });
+
+        assertTrue(testPromise.isSuccessful());
+        assertEquals("FALLBACK", testPromise.get());
+        assertEquals(1, fallbackCounter.get());
+    }
+
+    @Test
+    public void testFallbackFailure() {
+        final Throwable error = new IllegalArgumentException();
+        final Promise<String> testPromise = Promises.<String>error(new IllegalStateException())
+                .then(Schedulers.newSimpleScheduler(), new LazyFallbackFunction<String>() {
+                    @Override
+                    public Promise<String> fallback() {
+                        return Promises.error(error);
+                    }
+                });
+
+        assertTrue(testPromise.isDone());
+        assertFalse(testPromise.isSuccessful());
+        assertEquals(error, testPromise.getError());
+    }
+
+    @Test
+    public void testFallbackCancel() {
+        final Promise<String> fallbackPromise = Promises.promise();
+        final Promise<String> testPromise = Promises.<String>error(new IllegalStateException())
+                .then(Schedulers.newSimpleScheduler(), new LazyFallbackFunction<String>() {
+                    @Override
+                    public Promise<String> fallback() {
+                        return fallbackPromise;
+                    }
+                });
+
+        assertFalse(testPromise.isDone());
+
+        fallbackPromise.cancel();
+
+        assertTrue(testPromise.isCancelled());
+    }
+}
@@ -0,0 +1,109 @@
+package com.github.jparkie.promise.functions;
+
+import com.github.jparkie.promise.Promise;
+import com.github.jparkie.promise.Promises;
+import com.github.jparkie.promise.Scheduler;
+import com.github.jparkie.promise.Schedulers;
+import com.github.jparkie.promise.failures.FilterRejectedException;
+import org.junit.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class PipelineUnitTest {
+    private static Pipeline.Builder<String, Integer> newBuilder(Scheduler scheduler) {
+        return Pipeline.<String>builder()
+                .then(scheduler, new MapFunction<String, String>() {
+                    @Override
+                    public String map(String value) {
+                        return value.trim();
+                    }
+                })
+                .then(scheduler, new FilterFunction<String>() {
+                    @Override
+                    public boolean filter(String value) {
+                        return !value.isEmpty();
+                    }
+                })
+                .then(scheduler, new FlatMapFunction<String, Integer>() {
+                    @Override
+                    public Promise<Integer> flatMap(String value) {
+                        return Promises.value(value.length());
+                    }
+                });
+    }
+
+    @Test
+    public void testPipeline() {
+        final ExecutorService executorService = Executors.newFixedThreadPool(2);
+        final Pipeline<String, Integer> testPipeline = newBuilder(Schedulers.newExecutorServiceScheduler(executorService)).build();
+
+        assertEquals(3, testPipeline.size());
+
+        try {
+            final Promise<Integer> firstPromise = testPipeline.call(Promises.value(" FIRST "));
+            final Promise<Integer> emptyPromise = testPipeline.call(Promises.value("   "));
+
+            firstPromise.await(2, TimeUnit.SECONDS);
+            emptyPromise.await(2, TimeUnit.SECONDS);
+
+            assertTrue(firstPromise.isSuccessful());
+            assertEquals(Integer.valueOf(5), firstPromise.get());
+            assertFalse(emptyPromise.isSuccessful());
+            assertTrue(emptyPromise.getError() instanceof FilterRejectedException);
+        } catch (InterruptedException e) {
+            fail();
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testFusedPipeline() {
+        final Pipeline<String, Integer> testPipeline = newBuilder(Schedulers.newSimpleScheduler()).fuse().build();
+
+        for (int index = 0; index < 3; index++) {
+            final Promise<String> inputPromise = Promises.promise();
+            final Promise<Integer> outputPromise = testPipeline.call(inputPromise);
+
+            assertFalse(outputPromise.isDone());
+
+            inputPromise.set("SECOND");
+
+            assertTrue(outputPromise.isSuccessful());
+            assertEquals(Integer.valueOf(6), outputPromise.get());
+        }
+    }
+
+    @Test
+    public void testCancelledPipeline() {
+        final Pipeline<String, Integer> testPipeline = newBuilder(Schedulers.newSimpleScheduler()).fuse().build();
+        final Promise<String> inputPromise = Promises.promise();
+        final Promise<Integer> outputPromise = testPipeline.call(inputPromise);
+
+        inputPromise.cancel();
+
+        assertTrue(outputPromise.isCancelled());
+    }
+
+    @Test
+    public void testEmptyPipeline() {
+        final Pipeline<String, String> testPipeline = Pipeline.<String>builder().build();
+        final Promise<String> inputPromise = Promises.promise();
+        final Promise<String> outputPromise = testPipeline.call(inputPromise);
+
+        assertNotSame(inputPromise, outputPromise);
+
+        outputPromise.cancel();
+
+        assertFalse(inputPromise.isCancelled());
+
+        final Promise<String> valuePromise = testPipeline.call(Promises.value("TEST"));
+
+        assertTrue(valuePromise.isSuccessful());
+        assertEquals("TEST", valuePromise.get());
+    }
+}
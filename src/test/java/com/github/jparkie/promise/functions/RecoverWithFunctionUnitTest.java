@@ -0,0 +1,96 @@
+package com.github.jparkie.promise.functions;
+
+import com.github.jparkie.promise.Promise;
+import com.github.jparkie.promise.Promises;
+import com.github.jparkie.promise.Schedulers;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class RecoverWithFunctionUnitTest {
+    @Test
+    public void testSuccess() {
+        final AtomicInteger recoverCounter = new AtomicInteger(0);
+        final Promise<String> testPromise = Promises.value("SUCCESS")
+                .then(Schedulers.newSimpleScheduler(), new RecoverWithFunction<String>() {
+                    @Override
+                    public Promise<String> recoverWith(Throwable error) {
+                        recoverCounter.incrementAndGet();
+                        return Promises.value("RECOVERED");
+                    }
+                });
+
+        assertTrue(testPromise.isSuccessful());
+        assertEquals("SUCCESS", testPromise.get());
+        assertEquals(0, recoverCounter.get());
+    }
+
+    @Test
+    public void testFailure() {
+        final Throwable error = new IllegalStateException();
+        final Promise<String> testPromise = Promises.<String>error(error)
+                .then(Schedulers.newSimpleScheduler(), new RecoverWithFunction<String>(IllegalStateException.class) {
+                    @Override
+                    public Promise<String> recoverWith(Throwable recoveredError) {
+                        return Promises.value(recoveredError == error ? "RECOVERED" : "UNEXPECTED");
+                    }
+                });
+
+        assertTrue(testPromise.isSuccessful());
+        assertEquals("RECOVERED", testPromise.get());
+    }
+
+    @Test
+    public void testUnmatchedFailure() {
+        final AtomicInteger recoverCounter = new AtomicInteger(0);
+        final Throwable error = new IllegalArgumentException();
+        final Promise<String> testPromise = Promises.<String>error(error)
+                .then(Schedulers.newSimpleScheduler(), new RecoverWithFunction<String>(IllegalStateException.class) {
+                    @Override
+                    public Promise<String> recoverWith(Throwable recoveredError) {
+                        recoverCounter.incrementAndGet();
+                        return Promises.value("RECOVERED");
+                    }
+                });
+
+        assertFalse(testPromise.isSuccessful());
+        assertEquals(error, testPromise.getError());
+        assertEquals(0, recoverCounter.get());
+    }
+
+    @Test
+    public void testRecoveryFailure() {
+        final Throwable error = new IllegalArgumentException();
+        final Promise<String> testPromise = Promises.<String>error(new IllegalStateException())
+                .then(Schedulers.newSimpleScheduler(), new RecoverWithFunction<String>() {
+                    @Override
+                    public Promise<String> recoverWith(Throwable recoveredError) {
+                        return Promises.error(error);
+                    }
+                });
+
+        assertTrue(testPromise.isDone());
+        assertFalse(testPromise.isSuccessful());
+        assertEquals(error, testPromise.getError());
+    }
+
+    @Test
+    public void testRecoveryCancel() {
+        final Promise<String> recoveryPromise = Promises.promise();
+        final Promise<String> testPromise = Promises.<String>error(new IllegalStateException())
+                .then(Schedulers.newSimpleScheduler(), new RecoverWithFunction<String>() {
+                    @Override
+                    public Promise<String> recoverWith(Throwable recoveredError) {
+                        return recoveryPromise;
+                    }
+                });
+
+        assertFalse(testPromise.isDone());
+
+        recoveryPromise.cancel();
+
+        assertTrue(testPromise.isCancelled());
+    }
+}
@@ -0,0 +1,38 @@
+package com.github.jparkie.promise.io;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.*;
+
+public class BufferPoolUnitTest {
+    @Test
+    public void testAcquireAndRelease() {
+        final BufferPool testPool = new BufferPool(64, 1);
+        final ByteBuffer firstBuffer = testPool.acquire();
+        final ByteBuffer secondBuffer = testPool.acquire();
+
+        assertTrue(firstBuffer.isDirect());
+        assertEquals(64, firstBuffer.capacity());
+        assertEquals(2, testPool.getAllocatedCount());
+
+        firstBuffer.put((byte) 1);
+        testPool.release(firstBuffer);
+        testPool.release(secondBuffer);
+
+        assertEquals(1, testPool.getPooledCount());
+
+        final ByteBuffer reusedBuffer = testPool.acquire();
+
+        assertSame(firstBuffer, reusedBuffer);
+        assertEquals(0, reusedBuffer.position());
+        assertEquals(0, testPool.getPooledCount());
+        assertEquals(2, testPool.getAllocatedCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testReleaseForeignBuffer() {
+        new BufferPool(64, 1).release(ByteBuffer.allocate(64));
+    }
+}
@@ -0,0 +1,100 @@
+package com.github.jparkie.promise.io;
+
+import com.github.jparkie.promise.Promise;
+import com.github.jparkie.promise.Schedulers;
+import com.github.jparkie.promise.extras.Accumulator;
+import com.github.jparkie.promise.extras.Mapper;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class MappedFilesUnitTest {
+    private File file;
+    private RandomAccessFile randomAccessFile;
+
+    @Before
+    public void setup() throws IOException {
+        file = File.createTempFile("MappedFilesUnitTest", ".log");
+        final FileOutputStream outputStream = new FileOutputStream(file);
+        try {
+            for (int index = 0; index < 1000; index++) {
+                outputStream.write(("line-" + index + "\n").getBytes("UTF-8"));
+            }
+        } finally {
+            outputStream.close();
+        }
+        randomAccessFile = new RandomAccessFile(file, "r");
+    }
+
+    @After
+    public void teardown() throws IOException {
+        randomAccessFile.close();
+        randomAccessFile = null;
+        file.delete();
+        file = null;
+    }
+
+    @Test
+    public void testSplit() throws IOException {
+        final long[] segmentOffsets = MappedFiles.split(randomAccessFile.getChannel(), 100, (byte) '\n');
+
+        assertEquals(0, segmentOffsets[0]);
+        assertEquals(file.length(), segmentOffsets[segmentOffsets.length - 1]);
+        for (int index = 1; index < segmentOffsets.length - 1; index++) {
+            assertTrue(segmentOffsets[index] - segmentOffsets[index - 1] >= 100);
+            randomAccessFile.seek(segmentOffsets[index] - 1);
+            assertEquals('\n', randomAccessFile.read());
+        }
+    }
+
+    @Test
+    public void testProcess() {
+        final ExecutorService executorService = Executors.newFixedThreadPool(4);
+        final Promise<Integer> lineCountPromise = MappedFiles.process(
+                Schedulers.newExecutorServiceScheduler(executorService),
+                randomAccessFile.getChannel(),
+                1000,
+                (byte) '\n',
+                new Mapper<ByteBuffer, Integer>() {
+                    @Override
+                    public Integer map(ByteBuffer segment) {
+                        int lineCount = 0;
+                        while (segment.hasRemaining()) {
+                            if (segment.get() == '\n') {
+                                lineCount++;
+                            }
+                        }
+                        return lineCount;
+                    }
+                },
+                0,
+                new Accumulator<Integer, Integer>() {
+                    @Override
+                    public Integer accumulate(Integer result, Integer value) {
+                        return result + value;
+                    }
+                });
+
+        try {
+            lineCountPromise.await(2, TimeUnit.SECONDS);
+
+            assertTrue(lineCountPromise.isSuccessful());
+            assertEquals(Integer.valueOf(1000), lineCountPromise.get());
+        } catch (InterruptedException e) {
+            fail();
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+}
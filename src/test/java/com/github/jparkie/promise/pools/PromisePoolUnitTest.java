@@ -0,0 +1,259 @@
+package com.github.jparkie.promise.pools;
+
+import com.github.jparkie.promise.Action;
+import com.github.jparkie.promise.Promise;
+import com.github.jparkie.promise.Schedulers;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.*;
+
+public class PromisePoolUnitTest {
+    @Test
+    public void testAcquire() {
+        final PromisePool<String> testPool = new PromisePool<String>(4, 4);
+        final PooledPromise<String> testPromise = testPool.acquire();
+
+        assertFalse(testPromise.isCancelled());
+        assertFalse(testPromise.isDone());
+        assertFalse(testPromise.isSuccessful());
+    }
+
+    @Test
+    public void testRecycle() {
+        final AtomicBoolean callFlag = new AtomicBoolean(false);
+        final PromisePool<String> testPool = new PromisePool<String>(4, 4);
+        final PooledPromise<String> testPromise = testPool.acquire();
+        final long testStamp = testPromise.stamp();
+        testPromise.then(Schedulers.newSimpleScheduler(), new Action<String>() {
+            @Override
+            public void call(Promise<String> promise) {
+                callFlag.set(true);
+            }
+
+            @Override
+            public void cancel() {
+                // Do Nothing.
+            }
+        });
+
+        testPromise.set("TEST");
+        testPromise.recycle(testStamp);
+
+        assertTrue(callFlag.get());
+        assertFalse(testPromise.isValid(testStamp));
+
+        final PooledPromise<String> reusedPromise = testPool.acquire();
+
+        assertEquals(testStamp + 1, reusedPromise.stamp());
+        assertTrue(reusedPromise.isValid(reusedPromise.stamp()));
+        assertFalse(reusedPromise.isValid(testStamp));
+        assertFalse(reusedPromise.isDone());
+
+        try {
+            reusedPromise.await(100, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            fail();
+        }
+        assertFalse(reusedPromise.isDone());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testRecycleStale() {
+        final PromisePool<String> testPool = new PromisePool<String>(4, 4);
+        final PooledPromise<String> testPromise = testPool.acquire();
+        final long testStamp = testPromise.stamp();
+
+        testPromise.set("TEST");
+        testPromise.recycle(testStamp);
+        testPool.acquire().set("TEST");
+        testPromise.recycle(testStamp);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testRecyclePending() {
+        final PromisePool<String> testPool = new PromisePool<String>(4, 4);
+        final PooledPromise<String> testPromise = testPool.acquire();
+
+        testPromise.recycle(testPromise.stamp());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testUseAfterRecycle() {
+        final PromisePool<String> testPool = new PromisePool<String>(4, 4);
+        final PooledPromise<String> testPromise = testPool.acquire();
+
+        testPromise.cancel();
+        testPromise.recycle(testPromise.stamp());
+        testPromise.set("TEST");
+    }
+
+    @Test
+    public void testCrossThreadRecycle() {
+        final PromisePool<String> testPool = new PromisePool<String>(4, 4);
+        final PooledPromise<String> testPromise = testPool.acquire();
+        final long testStamp = testPromise.stamp();
+        final Thread testThread = new Thread() {
+            @Override
+            public void run() {
+                super.run();
+                testPromise.set("TEST");
+                testPromise.recycle(testStamp);
+            }
+        };
+
+        testThread.start();
+        try {
+            testThread.join();
+        } catch (InterruptedException e) {
+            fail();
+        }
+
+        assertEquals(testStamp + 1, testPool.acquire().stamp());
+    }
+
+    @Test
+    public void testStaleHandle() {
+        final PromisePool<String> testPool = new PromisePool<String>(4, 4);
+        final PooledPromise<String> stalePromise = testPool.acquire();
+
+        stalePromise.set("STALE");
+        stalePromise.recycle(stalePromise.stamp());
+
+        final PooledPromise<String> reusedPromise = testPool.acquire();
+
+        assertEquals(1, reusedPromise.stamp());
+        try {
+            stalePromise.set("TEST");
+            fail();
+        } catch (IllegalStateException e) {
+            // Do Nothing.
+        }
+        try {
+            stalePromise.isDone();
+            fail();
+        } catch (IllegalStateException e) {
+            // Do Nothing.
+        }
+        try {
+            stalePromise.cancel();
+            fail();
+        } catch (IllegalStateException e) {
+            // Do Nothing.
+        }
+        try {
+            stalePromise.then(Schedulers.newSimpleScheduler(), new Action<String>() {
+                @Override
+                public void call(Promise<String> promise) {
+                    fail();
+                }
+
+                @Override
+                public void cancel() {
+                    fail();
+                }
+            });
+            fail();
+        } catch (IllegalStateException e) {
+            // Do Nothing.
+        }
+
+        assertFalse(reusedPromise.isCancelled());
+        assertFalse(reusedPromise.isDone());
+
+        reusedPromise.set("TEST");
+
+        try {
+            stalePromise.get();
+            fail();
+        } catch (IllegalStateException e) {
+            // Do Nothing.
+        }
+        assertEquals("TEST", reusedPromise.get());
+    }
+
+    @Test
+    public void testRecyclePendingActions() throws InterruptedException {
+        final CountDownLatch callLatch = new CountDownLatch(1);
+        final CountDownLatch returnLatch = new CountDownLatch(1);
+        final ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            final PromisePool<String> testPool = new PromisePool<String>(4, 4);
+            final PooledPromise<String> testPromise = testPool.acquire();
+            final long testStamp = testPromise.stamp();
+            testPromise.then(Schedulers.newExecutorServiceScheduler(executorService), new Action<String>() {
+                @Override
+                public void call(Promise<String> promise) {
+                    try {
+                        callLatch.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    promise.get();
+                    returnLatch.countDown();
+                }
+
+                @Override
+                public void cancel() {
+                    // Do Nothing.
+                }
+            });
+
+            testPromise.set("TEST");
+            testPromise.recycle(testStamp);
+
+            assertFalse(testPromise.isValid(testStamp));
+            try {
+                testPromise.recycle(testStamp);
+                fail();
+            } catch (IllegalStateException e) {
+                // Do Nothing.
+            }
+
+            callLatch.countDown();
+            assertTrue(returnLatch.await(1, TimeUnit.SECONDS));
+            executorService.shutdown();
+            assertTrue(executorService.awaitTermination(1, TimeUnit.SECONDS));
+
+            try {
+                testPromise.get();
+                fail();
+            } catch (IllegalStateException e) {
+                // Do Nothing.
+            }
+            assertEquals(testStamp + 1, testPool.acquire().stamp());
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testRecycleFromAction() {
+        final PromisePool<String> testPool = new PromisePool<String>(4, 4);
+        final PooledPromise<String> testPromise = testPool.acquire();
+        final long testStamp = testPromise.stamp();
+        testPromise.then(Schedulers.newSimpleScheduler(), new Action<String>() {
+            @Override
+            public void call(Promise<String> promise) {
+                testPromise.recycle(testStamp);
+
+                assertEquals("TEST", promise.get());
+            }
+
+            @Override
+            public void cancel() {
+                fail();
+            }
+        });
+
+        testPromise.set("TEST");
+
+        assertFalse(testPromise.isValid(testStamp));
+        assertEquals(testStamp + 1, testPool.acquire().stamp());
+    }
+}
@@ -0,0 +1,179 @@
+package com.github.jparkie.promise.primitives;
+
+import com.github.jparkie.promise.Action;
+import com.github.jparkie.promise.Promise;
+import com.github.jparkie.promise.Promises;
+import com.github.jparkie.promise.Schedulers;
+import org.junit.Test;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.*;
+
+public class PrimitivePromisesUnitTest {
+    @Test
+    public void testLongValue() {
+        final LongPromise testPromise = PrimitivePromises.longValue(42L);
+
+        assertFalse(testPromise.isCancelled());
+        assertTrue(testPromise.isDone());
+        assertTrue(testPromise.isSuccessful());
+        assertEquals(42L, testPromise.getLong());
+        assertEquals(Long.valueOf(42L), testPromise.get());
+        assertNull(testPromise.getError());
+    }
+
+    @Test
+    public void testIntError() {
+        final Throwable error = new NoSuchElementException();
+        final IntPromise testPromise = PrimitivePromises.intError(error);
+
+        assertFalse(testPromise.isCancelled());
+        assertTrue(testPromise.isDone());
+        assertFalse(testPromise.isSuccessful());
+        assertEquals(0, testPromise.getInt());
+        assertNull(testPromise.get());
+        assertEquals(error, testPromise.getError());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testGetDouble() {
+        final DoublePromise testPromise = PrimitivePromises.doublePromise();
+
+        testPromise.getDouble();
+    }
+
+    @Test
+    public void testThenMap() {
+        final LongPromise testPromise = PrimitivePromises.longPromise();
+
+        final LongPromise mappedPromise = testPromise
+                .then(Schedulers.newSimpleScheduler(), new LongMapFunction() {
+                    @Override
+                    public long map(long value) {
+                        return value * 2;
+                    }
+                })
+                .then(Schedulers.newSimpleScheduler(), new LongMapFunction() {
+                    @Override
+                    public long map(long value) {
+                        return value + 1;
+                    }
+                });
+
+        testPromise.setLong(20L);
+
+        assertTrue(mappedPromise.isSuccessful());
+        assertEquals(41L, mappedPromise.getLong());
+    }
+
+    @Test
+    public void testThenTransform() {
+        final Throwable error = new NoSuchElementException();
+        final Throwable transformedError = new IllegalStateException();
+        final DoublePromise testPromise = PrimitivePromises.doublePromise();
+
+        final DoublePromise transformedPromise = testPromise
+                .then(Schedulers.newSimpleScheduler(), new DoubleTransformFunction() {
+                    @Override
+                    public double transformSuccess(double value) {
+                        return value / 2;
+                    }
+
+                    @Override
+                    public Throwable transformThrowable(Throwable error) {
+                        return transformedError;
+                    }
+                });
+
+        testPromise.setError(error);
+
+        assertTrue(transformedPromise.isDone());
+        assertFalse(transformedPromise.isSuccessful());
+        assertEquals(transformedError, transformedPromise.getError());
+    }
+
+    @Test
+    public void testCancel() {
+        final AtomicBoolean cancelFlag = new AtomicBoolean(false);
+        final IntPromise testPromise = PrimitivePromises.intPromise();
+        final IntPromise mappedPromise = testPromise
+                .then(Schedulers.newSimpleScheduler(), new IntMapFunction() {
+                    @Override
+                    public int map(int value) {
+                        return value;
+                    }
+                });
+        mappedPromise.then(Schedulers.newSimpleScheduler(), new Action<Integer>() {
+            @Override
+            public void call(Promise<Integer> promise) {
+                // Do Nothing.
+            }
+
+            @Override
+            public void cancel() {
+                cancelFlag.set(true);
+            }
+        });
+
+        testPromise.cancel();
+        testPromise.setInt(1);
+
+        assertTrue(mappedPromise.isCancelled());
+        assertFalse(mappedPromise.isDone());
+        assertTrue(cancelFlag.get());
+    }
+
+    @Test
+    public void testToLongPromise() {
+        final Promise<Long> boxedPromise = Promises.promise();
+        final LongPromise testPromise = PrimitivePromises.toLongPromise(Schedulers.newSimpleScheduler(), boxedPromise);
+
+        assertFalse(testPromise.isDone());
+
+        boxedPromise.set(7L);
+
+        assertTrue(testPromise.isSuccessful());
+        assertEquals(7L, testPromise.getLong());
+        assertSame(testPromise, PrimitivePromises.toLongPromise(Schedulers.newSimpleScheduler(), testPromise));
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testSetNull() {
+        final LongPromise testPromise = PrimitivePromises.longPromise();
+
+        testPromise.set(null);
+    }
+
+    @Test
+    public void testToIntPromiseNull() {
+        final Promise<Integer> boxedPromise = Promises.promise();
+        final IntPromise testPromise = PrimitivePromises.toIntPromise(Schedulers.newSimpleScheduler(), boxedPromise);
+
+        boxedPromise.set(null);
+
+        assertTrue(testPromise.isDone());
+        assertFalse(testPromise.isSuccessful());
+        assertTrue(testPromise.getError() instanceof NullPointerException);
+    }
+
+    @Test
+    public void testToDoublePromiseNull() throws Exception {
+        final ExecutorService executorService = Executors.newSingleThreadExecutor();
+        try {
+            final Promise<Double> boxedPromise = Promises.promise();
+            final DoublePromise testPromise = PrimitivePromises.toDoublePromise(Schedulers.newExecutorServiceScheduler(executorService), boxedPromise);
+
+            boxedPromise.set(null);
+
+            assertTrue(testPromise.await(1, TimeUnit.SECONDS));
+            assertTrue(testPromise.getError() instanceof NullPointerException);
+        } finally {
+            executorService.shutdown();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.github.jparkie.promise.extras;
+
+import com.github.jparkie.promise.Promise;
+import com.github.jparkie.promise.Promises;
+import org.junit.Test;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.*;
+
+public class CompletionStagesUnitTest {
+    private static final java.util.function.Function<String, String> TRIM_FUNCTION = new java.util.function.Function<String, String>() {
+        @Override
+        public String apply(String value) {
+            return value.trim();
+        }
+    };
+
+    @Test
+    public void testToCompletionStage() {
+        final Promise<String> testPromise = Promises.promise();
+        final CompletableFuture<String> testFuture = CompletionStages.toCompletionStage(testPromise);
+
+        assertFalse(testFuture.isDone());
+
+        testPromise.set("TEST");
+
+        assertTrue(testFuture.isDone());
+        assertEquals("TEST", testFuture.join());
+    }
+
+    @Test
+    public void testToCompletionStageCancel() {
+        final Promise<String> testPromise = Promises.promise();
+        final CompletableFuture<String> testFuture = CompletionStages.toCompletionStage(testPromise);
+
+        testFuture.cancel(false);
+
+        assertTrue(testPromise.isCancelled());
+
+        final Promise<String> otherPromise = Promises.promise();
+        final CompletableFuture<String> otherFuture = CompletionStages.toCompletionStage(otherPromise);
+
+        otherPromise.cancel();
+
+        assertTrue(otherFuture.isCancelled());
+    }
+
+    @Test
+    public void testFromCompletionStage() {
+        final Throwable error = new NoSuchElementException();
+        final CompletableFuture<String> testFuture = new CompletableFuture<String>();
+        final Promise<String> testPromise = CompletionStages.fromCompletionStage(testFuture.thenApply(TRIM_FUNCTION));
+
+        assertFalse(testPromise.isDone());
+
+        testFuture.complete(" TEST ");
+
+        assertTrue(testPromise.isSuccessful());
+        assertEquals("TEST", testPromise.get());
+
+        final CompletableFuture<String> otherFuture = new CompletableFuture<String>();
+        final Promise<String> otherPromise = CompletionStages.fromCompletionStage(otherFuture.thenApply(TRIM_FUNCTION));
+
+        otherFuture.completeExceptionally(error);
+
+        assertTrue(otherPromise.isDone());
+        assertEquals(error, otherPromise.getError());
+    }
+
+    @Test
+    public void testFromCompletionStageCancel() {
+        final CompletableFuture<String> testFuture = new CompletableFuture<String>();
+        final Promise<String> testPromise = CompletionStages.fromCompletionStage(testFuture);
+
+        testPromise.cancel();
+
+        assertTrue(testFuture.isCancelled());
+
+        final CompletableFuture<String> otherFuture = new CompletableFuture<String>();
+        final Promise<String> otherPromise = CompletionStages.fromCompletionStage(otherFuture);
+
+        otherFuture.cancel(false);
+
+        assertTrue(otherPromise.isCancelled());
+    }
+}
@@ -0,0 +1,81 @@
+package com.github.jparkie.promise.extras;
+
+import com.github.jparkie.promise.Promise;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class ForkJoinPromisesUnitTest {
+    @Test
+    public void testParallelMap() {
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        final List<Integer> elements = new ArrayList<Integer>();
+        for (int index = 0; index < 10000; index++) {
+            elements.add(index);
+        }
+
+        final Promise<List<Integer>> parallelPromise = ForkJoinPromises.parallelMap(
+                pool,
+                elements,
+                new Mapper<Integer, Integer>() {
+                    @Override
+                    public Integer map(Integer value) {
+                        return value * 2;
+                    }
+                },
+                100);
+        final Promise<List<Integer>> errorPromise = ForkJoinPromises.parallelMap(
+                pool,
+                elements,
+                new Mapper<Integer, Integer>() {
+                    @Override
+                    public Integer map(Integer value) {
+                        if (value == 5000) {
+                            throw new IllegalStateException();
+                        }
+                        return value;
+                    }
+                },
+                100);
+
+        try {
+            assertTrue(parallelPromise.await(2, TimeUnit.SECONDS));
+            assertTrue(errorPromise.await(2, TimeUnit.SECONDS));
+
+            assertTrue(parallelPromise.isSuccessful());
+            assertEquals(10000, parallelPromise.get().size());
+            for (int index = 0; index < 10000; index++) {
+                assertEquals(Integer.valueOf(index * 2), parallelPromise.get().get(index));
+            }
+            assertFalse(errorPromise.isSuccessful());
+            assertTrue(errorPromise.getError() instanceof IllegalStateException);
+        } catch (InterruptedException e) {
+            fail();
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testParallelMapEmpty() {
+        final Promise<List<Integer>> parallelPromise = ForkJoinPromises.parallelMap(
+                ForkJoinPool.commonPool(),
+                Collections.<Integer>emptyList(),
+                new Mapper<Integer, Integer>() {
+                    @Override
+                    public Integer map(Integer value) {
+                        return value;
+                    }
+                },
+                100);
+
+        assertTrue(parallelPromise.isSuccessful());
+        assertTrue(parallelPromise.get().isEmpty());
+    }
+}
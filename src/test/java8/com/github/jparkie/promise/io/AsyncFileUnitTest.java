@@ -0,0 +1,164 @@
+package com.github.jparkie.promise.io;
+
+import com.github.jparkie.promise.Promise;
+import com.github.jparkie.promise.extras.AsyncIterator;
+import com.github.jparkie.promise.failures.EndOfStreamException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class AsyncFileUnitTest {
+    private Path path;
+
+    @Before
+    public void setup() throws IOException {
+        path = Files.createTempFile("AsyncFileUnitTest", ".bin");
+    }
+
+    @After
+    public void teardown() throws IOException {
+        Files.deleteIfExists(path);
+        path = null;
+    }
+
+    @Test
+    public void testReadAndWrite() throws IOException, InterruptedException {
+        final BufferPool bufferPool = new BufferPool(16, 4);
+        final AsyncFile testFile = AsyncFile.open(path, bufferPool, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            final Promise<Integer> writePromise = testFile.write(ByteBuffer.wrap("HELLO WORLD".getBytes("UTF-8")), 0);
+            writePromise.await(2, TimeUnit.SECONDS);
+
+            assertEquals(Integer.valueOf(11), writePromise.get());
+
+            final Promise<ByteBuffer> readPromise = testFile.read(6);
+            readPromise.await(2, TimeUnit.SECONDS);
+
+            final ByteBuffer buffer = readPromise.get();
+            final byte[] bytes = new byte[buffer.remaining()];
+            buffer.get(bytes);
+            bufferPool.release(buffer);
+
+            assertEquals("WORLD", new String(bytes, "UTF-8"));
+
+            final Promise<ByteBuffer> endPromise = testFile.read(11);
+            endPromise.await(2, TimeUnit.SECONDS);
+
+            assertTrue(endPromise.getError() instanceof EndOfStreamException);
+            assertEquals(1, bufferPool.getAllocatedCount());
+        } finally {
+            testFile.close();
+        }
+    }
+
+    @Test
+    public void testChunks() throws IOException, InterruptedException {
+        final byte[] content = new byte[1000];
+        for (int index = 0; index < content.length; index++) {
+            content[index] = (byte) index;
+        }
+        Files.write(path, content);
+
+        final BufferPool bufferPool = new BufferPool(64, 4);
+        final AsyncFile testFile = AsyncFile.open(path, bufferPool, StandardOpenOption.READ);
+        try {
+            final AsyncIterator<ByteBuffer> chunkIterator = testFile.chunks(3);
+            final byte[] readContent = new byte[content.length];
+            int readCount = 0;
+            while (true) {
+                final Promise<ByteBuffer> chunkPromise = chunkIterator.next();
+                chunkPromise.await(2, TimeUnit.SECONDS);
+                if (!chunkPromise.isSuccessful()) {
+                    assertTrue(chunkPromise.getError() instanceof EndOfStreamException);
+                    break;
+                }
+
+                final ByteBuffer chunk = chunkPromise.get();
+                final int chunkSize = chunk.remaining();
+                chunk.get(readContent, readCount, chunkSize);
+                readCount += chunkSize;
+                bufferPool.release(chunk);
+            }
+
+            assertEquals(content.length, readCount);
+            assertTrue(Arrays.equals(content, readContent));
+            assertTrue(bufferPool.getAllocatedCount() <= 4);
+        } finally {
+            testFile.close();
+        }
+    }
+
+    @Test
+    public void testChunksCancel() throws IOException, InterruptedException {
+        Files.write(path, new byte[1000]);
+
+        final BufferPool bufferPool = new BufferPool(64, 4);
+        final AsyncFile testFile = AsyncFile.open(path, bufferPool, StandardOpenOption.READ);
+        try {
+            final AsyncIterator<ByteBuffer> chunkIterator = testFile.chunks(3);
+            final Promise<ByteBuffer> chunkPromise = chunkIterator.next();
+            chunkPromise.await(2, TimeUnit.SECONDS);
+            bufferPool.release(chunkPromise.get());
+
+            Thread.sleep(100);
+            chunkIterator.cancel();
+
+            final long deadlineNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+            while (bufferPool.getPooledCount() < bufferPool.getAllocatedCount() && System.nanoTime() < deadlineNanos) {
+                Thread.sleep(10);
+            }
+
+            assertEquals(bufferPool.getAllocatedCount(), bufferPool.getPooledCount());
+        } finally {
+            testFile.close();
+        }
+    }
+
+    @Test
+    public void testChunksCancelRace() throws IOException, InterruptedException {
+        Files.write(path, new byte[1000]);
+
+        final BufferPool bufferPool = new BufferPool(64, 1024);
+        final AsyncFile testFile = AsyncFile.open(path, bufferPool, StandardOpenOption.READ);
+        try {
+            for (int index = 0; index < 200; index++) {
+                testFile.chunks(4).cancel();
+            }
+
+            final long deadlineNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+            while (bufferPool.getPooledCount() < bufferPool.getAllocatedCount() && System.nanoTime() < deadlineNanos) {
+                Thread.sleep(10);
+            }
+
+            assertEquals(bufferPool.getAllocatedCount(), bufferPool.getPooledCount());
+        } finally {
+            testFile.close();
+        }
+    }
+
+    @Test
+    public void testReadSynchronousFailure() throws IOException, InterruptedException {
+        final BufferPool bufferPool = new BufferPool(16, 4);
+        final AsyncFile testFile = AsyncFile.open(path, bufferPool, StandardOpenOption.READ);
+        try {
+            final Promise<ByteBuffer> readPromise = testFile.read(-1);
+
+            assertTrue(readPromise.isDone());
+            assertTrue(readPromise.getError() instanceof IllegalArgumentException);
+            assertEquals(1, bufferPool.getAllocatedCount());
+            assertEquals(1, bufferPool.getPooledCount());
+        } finally {
+            testFile.close();
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.github.jparkie.promise.io;
+
+import com.github.jparkie.promise.Action;
+import com.github.jparkie.promise.Promise;
+import com.github.jparkie.promise.Schedulers;
+import com.github.jparkie.promise.failures.EndOfStreamException;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.AcceptPendingException;
+import java.nio.channels.ReadPendingException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class AsyncSocketUnitTest {
+    @Test
+    public void testEcho() throws IOException, InterruptedException {
+        final BufferPool bufferPool = new BufferPool(64, 4);
+        final AsyncServerSocket serverSocket = AsyncServerSocket.bind(null, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), bufferPool);
+        try {
+            final Promise<AsyncSocket> acceptPromise = serverSocket.accept();
+            acceptPromise.then(Schedulers.newSimpleScheduler(), new Action<AsyncSocket>() {
+                @Override
+                public void call(Promise<AsyncSocket> promise) {
+                    final AsyncSocket socket = promise.get();
+                    socket.read().then(Schedulers.newSimpleScheduler(), new Action<ByteBuffer>() {
+                        @Override
+                        public void call(Promise<ByteBuffer> promise) {
+                            socket.writeFully(promise.get());
+                        }
+
+                        @Override
+                        public void cancel() {
+                            // Do Nothing.
+                        }
+                    });
+                }
+
+                @Override
+                public void cancel() {
+                    // Do Nothing.
+                }
+            });
+
+            final Promise<AsyncSocket> connectPromise = AsyncSocket.connect(serverSocket.getLocalAddress(), bufferPool);
+            connectPromise.await(2, TimeUnit.SECONDS);
+
+            assertTrue(connectPromise.isSuccessful());
+
+            final AsyncSocket clientSocket = connectPromise.get();
+            try {
+                final Promise<Integer> writePromise = clientSocket.writeFully(ByteBuffer.wrap("PING".getBytes("UTF-8")));
+                writePromise.await(2, TimeUnit.SECONDS);
+
+                assertEquals(Integer.valueOf(4), writePromise.get());
+
+                final Promise<ByteBuffer> readPromise = clientSocket.read();
+                readPromise.await(2, TimeUnit.SECONDS);
+
+                assertTrue(readPromise.isSuccessful());
+
+                final ByteBuffer buffer = readPromise.get();
+                final byte[] bytes = new byte[buffer.remaining()];
+                buffer.get(bytes);
+                bufferPool.release(buffer);
+
+                assertEquals("PING", new String(bytes, "UTF-8"));
+
+                acceptPromise.get().close();
+
+                final Promise<ByteBuffer> endPromise = clientSocket.read();
+                endPromise.await(2, TimeUnit.SECONDS);
+
+                assertTrue(endPromise.getError() instanceof EndOfStreamException);
+            } finally {
+                clientSocket.close();
+            }
+        } finally {
+            serverSocket.close();
+        }
+    }
+
+    @Test
+    public void testAcceptCancel() throws IOException, InterruptedException {
+        final BufferPool bufferPool = new BufferPool(64, 4);
+        final AsyncServerSocket serverSocket = AsyncServerSocket.bind(null, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), bufferPool);
+        try {
+            serverSocket.accept().cancel();
+
+            final Promise<AsyncSocket> connectPromise = AsyncSocket.connect(serverSocket.getLocalAddress(), bufferPool);
+            connectPromise.await(2, TimeUnit.SECONDS);
+
+            final AsyncSocket clientSocket = connectPromise.get();
+            try {
+                final Promise<ByteBuffer> endPromise = clientSocket.read();
+                endPromise.await(2, TimeUnit.SECONDS);
+
+                assertTrue(endPromise.getError() instanceof EndOfStreamException);
+            } finally {
+                clientSocket.close();
+            }
+        } finally {
+            serverSocket.close();
+        }
+    }
+
+    @Test
+    public void testAcceptPending() throws IOException {
+        final BufferPool bufferPool = new BufferPool(64, 4);
+        final AsyncServerSocket serverSocket = AsyncServerSocket.bind(null, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), bufferPool);
+        try {
+            final Promise<AsyncSocket> acceptPromise = serverSocket.accept();
+
+            acceptPromise.cancel();
+
+            final Promise<AsyncSocket> pendingPromise = serverSocket.accept();
+
+            assertTrue(pendingPromise.isDone());
+            assertTrue(pendingPromise.getError() instanceof AcceptPendingException);
+        } finally {
+            serverSocket.close();
+        }
+    }
+
+    @Test
+    public void testReadPending() throws IOException, InterruptedException {
+        final BufferPool bufferPool = new BufferPool(64, 4);
+        final AsyncServerSocket serverSocket = AsyncServerSocket.bind(null, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), bufferPool);
+        try {
+            final Promise<AsyncSocket> acceptPromise = serverSocket.accept();
+            final Promise<AsyncSocket> connectPromise = AsyncSocket.connect(serverSocket.getLocalAddress(), bufferPool);
+            connectPromise.await(2, TimeUnit.SECONDS);
+            acceptPromise.await(2, TimeUnit.SECONDS);
+
+            final AsyncSocket clientSocket = connectPromise.get();
+            try {
+                clientSocket.read();
+
+                final Promise<ByteBuffer> pendingPromise = clientSocket.read();
+                final Promise<Integer> unpooledPromise = clientSocket.read(ByteBuffer.allocate(16));
+
+                assertTrue(pendingPromise.getError() instanceof ReadPendingException);
+                assertTrue(unpooledPromise.getError() instanceof ReadPendingException);
+                assertEquals(2, bufferPool.getAllocatedCount());
+                assertEquals(1, bufferPool.getPooledCount());
+            } finally {
+                clientSocket.close();
+                acceptPromise.get().close();
+            }
+        } finally {
+            serverSocket.close();
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.github.jparkie.promise.extras;
+
+import com.github.jparkie.promise.Promise;
+import com.github.jparkie.promise.Promises;
+import com.github.jparkie.promise.failures.EndOfStreamException;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+public class FlowAdaptersUnitTest {
+    @Test
+    public void testToPublisher() {
+        final Promise<String> firstPromise = Promises.value("FIRST");
+        final Promise<String> cancelledPromise = Promises.promise();
+        final Promise<String> thirdPromise = Promises.promise();
+        final List<String> items = new ArrayList<String>();
+        final List<Flow.Subscription> subscriptions = new ArrayList<Flow.Subscription>();
+        final List<String> signals = new ArrayList<String>();
+
+        cancelledPromise.cancel();
+
+        FlowAdapters.toPublisher(Arrays.asList(firstPromise, cancelledPromise, thirdPromise)).subscribe(new Flow.Subscriber<String>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscriptions.add(subscription);
+            }
+
+            @Override
+            public void onNext(String item) {
+                items.add(item);
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                signals.add("ERROR");
+            }
+
+            @Override
+            public void onComplete() {
+                signals.add("COMPLETE");
+            }
+        });
+
+        assertTrue(items.isEmpty());
+
+        subscriptions.get(0).request(1);
+
+        assertEquals(Arrays.asList("FIRST"), items);
+
+        subscriptions.get(0).request(5);
+
+        assertEquals(Arrays.asList("FIRST"), items);
+
+        thirdPromise.set("THIRD");
+
+        assertEquals(Arrays.asList("FIRST", "THIRD"), items);
+        assertEquals(Arrays.asList("COMPLETE"), signals);
+    }
+
+    @Test
+    public void testToPublisherCancel() {
+        final Promise<String> outstandingPromise = Promises.promise();
+        final List<Flow.Subscription> subscriptions = new ArrayList<Flow.Subscription>();
+
+        FlowAdapters.toPublisher(Arrays.asList(outstandingPromise)).subscribe(new Flow.Subscriber<String>() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscriptions.add(subscription);
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(String item) {
+                fail();
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                fail();
+            }
+
+            @Override
+            public void onComplete() {
+                fail();
+            }
+        });
+
+        subscriptions.get(0).cancel();
+
+        assertTrue(outstandingPromise.isCancelled());
+    }
+
+    @Test
+    public void testToAsyncIterator() throws InterruptedException {
+        final SubmissionPublisher<String> publisher = new SubmissionPublisher<String>();
+        final AsyncIterator<String> testIterator = FlowAdapters.toAsyncIterator(publisher);
+
+        final Promise<String> firstPromise = testIterator.next();
+        final Promise<String> secondPromise = testIterator.next();
+
+        publisher.submit("FIRST");
+        publisher.submit("SECOND");
+        publisher.close();
+
+        firstPromise.await(2, TimeUnit.SECONDS);
+        secondPromise.await(2, TimeUnit.SECONDS);
+
+        assertEquals("FIRST", firstPromise.get());
+        assertEquals("SECOND", secondPromise.get());
+
+        final Promise<String> endPromise = testIterator.next();
+        endPromise.await(2, TimeUnit.SECONDS);
+
+        assertTrue(endPromise.getError() instanceof EndOfStreamException);
+    }
+
+    @Test
+    public void testToAsyncIteratorCancel() {
+        final List<String> signals = new ArrayList<String>();
+        final AsyncIterator<String> testIterator = FlowAdapters.toAsyncIterator(new Flow.Publisher<String>() {
+            @Override
+            public void subscribe(Flow.Subscriber<? super String> subscriber) {
+                subscriber.onSubscribe(new Flow.Subscription() {
+                    @Override
+                    public void request(long n) {
+                        signals.add("REQUEST " + n);
+                    }
+
+                    @Override
+                    public void cancel() {
+                        signals.add("CANCEL");
+                    }
+                });
+            }
+        });
+
+        final Promise<String> pendingPromise = testIterator.next();
+        pendingPromise.cancel();
+
+        assertEquals(Arrays.asList("REQUEST 1", "CANCEL"), signals);
+        assertTrue(testIterator.next().isCancelled());
+    }
+}